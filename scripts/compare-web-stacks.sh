@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Starts the service once per web stack (servlet default, then the reactive profile) and drives the same
+# read load against each, printing latency percentiles and throughput side by side.
+# Usage: scripts/compare-web-stacks.sh [concurrency] [seconds]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${1:-256}
+SECONDS_PER_RUN=${2:-30}
+PORT=${PORT:-18080}
+
+./mvnw -B -q -Preactive -DskipTests package
+./mvnw -B -q -Pjmh -DskipTests test-compile dependency:build-classpath -Dmdep.outputFile=target/load.classpath
+CLASSPATH="target/test-classes:target/classes:$(cat target/load.classpath)"
+JAR=$(ls target/mssc-beer-service-*.jar | head -1)
+
+for PROFILE in default reactive; do
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$PROFILE" > "target/$PROFILE.log" 2>&1 &
+    PID=$!
+    trap 'kill $PID 2>/dev/null || true' EXIT
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+
+    echo "== $PROFILE (concurrency $CONCURRENCY, ${SECONDS_PER_RUN}s)"
+    java -cp "$CLASSPATH" com.beerservice.load.HttpLoadDriver "http://localhost:$PORT" "$CONCURRENCY" 5 > /dev/null
+    java -cp "$CLASSPATH" com.beerservice.load.HttpLoadDriver "http://localhost:$PORT" "$CONCURRENCY" "$SECONDS_PER_RUN"
+
+    kill $PID
+    wait $PID 2>/dev/null || true
+done
@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Starts the service with a generated catalog and drives one load scenario against it, printing latency
+# percentiles and throughput per operation.
+# Usage: scripts/load-test.sh [scenario: by_id|read_heavy|mixed|write_heavy] [concurrency] [seconds] [catalog size]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+SCENARIO=${1:-mixed}
+CONCURRENCY=${2:-64}
+SECONDS_PER_RUN=${3:-60}
+CATALOG_SIZE=${4:-1000000}
+PORT=${PORT:-18080}
+
+./mvnw -B -q -DskipTests package
+./mvnw -B -q -Pjmh -DskipTests test-compile dependency:build-classpath -Dmdep.outputFile=target/load.classpath
+CLASSPATH="target/test-classes:target/classes:$(cat target/load.classpath)"
+JAR=$(ls target/mssc-beer-service-*.jar | head -1)
+
+java -Xmx${HEAP:-4g} -jar "$JAR" --server.port="$PORT" --spring.profiles.active=catalog \
+    --beer.catalog.size="$CATALOG_SIZE" > target/load-test.log 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true' EXIT
+# health is up before the catalog is generated; readyMillis appears once the runners are done
+until curl -sf "http://localhost:$PORT/actuator/startup" | grep -q '"readyMillis":[0-9]'; do sleep 1; done
+grep "Generated .* beers in" target/load-test.log || true
+
+echo "== $SCENARIO (concurrency $CONCURRENCY, ${SECONDS_PER_RUN}s, $CATALOG_SIZE beers)"
+java -cp "$CLASSPATH" com.beerservice.load.HttpLoadDriver "http://localhost:$PORT" "$CONCURRENCY" 10 by_id > /dev/null
+java -cp "$CLASSPATH" com.beerservice.load.HttpLoadDriver "http://localhost:$PORT" "$CONCURRENCY" "$SECONDS_PER_RUN" "$SCENARIO"
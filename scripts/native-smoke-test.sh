@@ -0,0 +1,86 @@
+#!/usr/bin/env bash
+# Builds the native executable and boots it and the jar against the in-memory H2 database, exercises the beer API
+# on each, and prints time to first answered request and resident memory for both. Needs GraalVM 22.3+ (JAVA_HOME
+# or GRAALVM_HOME) with native-image installed. Experimental: it has not been run end to end yet.
+# Usage: scripts/native-smoke-test.sh
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+GRAALVM_HOME=${GRAALVM_HOME:-${JAVA_HOME:-}}
+if [ -z "$GRAALVM_HOME" ] || [ ! -x "$GRAALVM_HOME/bin/native-image" ]; then
+    echo "native-image not found; point GRAALVM_HOME or JAVA_HOME at a GraalVM with native-image installed" >&2
+    exit 1
+fi
+export JAVA_HOME=$GRAALVM_HOME
+PORT=${PORT:-18080}
+BASE="http://localhost:$PORT"
+DEVTOOLS_OFF=-Dspring.devtools.restart.enabled=false
+
+# the process being measured, if any, is stopped however the script exits
+PID=
+trap 'if [ -n "$PID" ]; then kill "$PID" 2>/dev/null || true; fi' EXIT
+
+now_millis() {
+    date +%s%3N
+}
+
+wait_until_up() {
+    until curl -sf "$BASE/actuator/health" > /dev/null; do
+        kill -0 "$1" 2>/dev/null || { echo "process $1 exited before it answered" >&2; exit 1; }
+        sleep 0.05
+    done
+}
+
+exercise() {
+    local id
+    curl -sf "$BASE/api/v1/beer?pageSize=5" > /dev/null
+    curl -sf "$BASE/api/v1/beer?beerStyle=IPA" > /dev/null
+    id=$(curl -sf -X POST -H 'Content-Type: application/json' \
+        -d '{"beerName":"Native Pale","beerStyle":"PALE_ALE","upc":"0077665544","price":"9.99"}' \
+        "$BASE/api/v1/beer" | grep -o '"id":"[^"]*"' | cut -d'"' -f4)
+    curl -sf "$BASE/api/v1/beer/$id" > /dev/null
+    curl -sf -X PATCH -H 'Content-Type: application/merge-patch+json' -d '{"price":"10.49"}' \
+        "$BASE/api/v1/beer/$id" > /dev/null
+    curl -sf "$BASE/api/v1/beer/upc/0077665544" > /dev/null
+    curl -sf "$BASE/api/v1/beer/stats" > /dev/null
+    curl -sf "$BASE/api/v1/beer/export" > /dev/null
+    curl -sf "$BASE/actuator/metrics/beer.service.calls" > /dev/null
+}
+
+rss_mb() {
+    awk '/^VmRSS/ { printf "%.0f", $2 / 1024 }' "/proc/$1/status"
+}
+
+# boots a command, times it to the first answered request, exercises it and prints one result line
+measure() {
+    local label=$1
+    shift
+    local start up rss_idle rss_loaded
+    start=$(now_millis)
+    "$@" --server.port="$PORT" > "target/native-smoke-$label.log" 2>&1 &
+    PID=$!
+    wait_until_up "$PID"
+    up=$(( $(now_millis) - start ))
+    rss_idle=$(rss_mb "$PID")
+    exercise
+    rss_loaded=$(rss_mb "$PID")
+    printf '%-7s first response %6d ms   RSS %5d MB idle, %5d MB after requests\n' \
+        "$label" "$up" "$rss_idle" "$rss_loaded"
+    kill "$PID"
+    wait "$PID" 2>/dev/null || true
+    PID=
+}
+
+./mvnw -B -q -DskipTests package
+JAR=$(ls target/mssc-beer-service-*.jar | head -1)
+
+# Boot 2.1 creates CGLIB and Hibernate proxies at runtime; the agent records them, with the reflection they need,
+# for native-image to define at build time
+rm -rf target/native-agent
+measure agent java "$DEVTOOLS_OFF" \
+    -agentlib:native-image-agent=config-output-dir=target/native-agent,experimental-class-define-support -jar "$JAR"
+
+./mvnw -B -q -Pnative -DskipTests package
+
+measure jvm java "$DEVTOOLS_OFF" -jar "$JAR"
+measure native target/mssc-beer-service "$DEVTOOLS_OFF"
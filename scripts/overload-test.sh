@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Overloads the service twice, once without admission control and once with it, and prints latency percentiles
+# of the admitted requests and how many were shed. A small connection pool makes the database the bottleneck.
+# Usage: scripts/overload-test.sh [scenario] [concurrency] [seconds] [catalog size] [pool size]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+SCENARIO=${1:-read_heavy}
+CONCURRENCY=${2:-256}
+SECONDS_PER_RUN=${3:-60}
+CATALOG_SIZE=${4:-1000000}
+POOL_SIZE=${5:-4}
+PORT=${PORT:-18080}
+
+./mvnw -B -q -DskipTests package
+./mvnw -B -q -Pjmh -DskipTests test-compile dependency:build-classpath -Dmdep.outputFile=target/load.classpath
+CLASSPATH="target/test-classes:target/classes:$(cat target/load.classpath)"
+JAR=$(ls target/mssc-beer-service-*.jar | head -1)
+
+for ADMISSION in false true; do
+    java -Xmx${HEAP:-4g} -jar "$JAR" --server.port="$PORT" --spring.profiles.active=catalog \
+        --beer.catalog.size="$CATALOG_SIZE" --spring.datasource.hikari.maximum-pool-size="$POOL_SIZE" \
+        --beer.admission.enabled="$ADMISSION" > "target/overload-test-$ADMISSION.log" 2>&1 &
+    PID=$!
+    trap 'kill $PID 2>/dev/null || true' EXIT
+    until curl -sf "http://localhost:$PORT/actuator/startup" | grep -q '"readyMillis":[0-9]'; do sleep 1; done
+
+    echo "== admission control $ADMISSION: $SCENARIO (concurrency $CONCURRENCY, ${SECONDS_PER_RUN}s, pool $POOL_SIZE)"
+    java -cp "$CLASSPATH" com.beerservice.load.HttpLoadDriver "http://localhost:$PORT" 16 10 by_id > /dev/null
+    java -cp "$CLASSPATH" com.beerservice.load.HttpLoadDriver "http://localhost:$PORT" "$CONCURRENCY" \
+        "$SECONDS_PER_RUN" "$SCENARIO"
+    if [ "$ADMISSION" = true ]; then
+        curl -s "http://localhost:$PORT/actuator/metrics/beer.admission.limit" | grep -o '"value":[0-9.]*' \
+            | sed 's/"value":/final limit: /'
+    fi
+    kill $PID
+    wait $PID 2>/dev/null || true
+done
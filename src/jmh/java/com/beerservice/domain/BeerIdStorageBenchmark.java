@@ -0,0 +1,140 @@
+package com.beerservice.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts into a file-backed H2 beer table that already holds {@code rows} beers, with the id stored the old way
+ * (random UUIDs as hex text), as random UUIDs in binary(16), and as time-ordered UUIDs in binary(16). The table
+ * has the production key layout: the primary key, the unique UPC and the (createdDate, id) index. Setup prints
+ * the bulk load rate, the bytes written, and the size per row once compacted, which is where the narrower keys
+ * and the denser, append-only index pages show up.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class BeerIdStorageBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public enum IdStorage {
+        VARCHAR_RANDOM("varchar(36)"),
+        BINARY_RANDOM("binary(16)"),
+        BINARY_TIME_ORDERED("binary(16)");
+
+        private final String columnType;
+
+        IdStorage(String columnType) {
+            this.columnType = columnType;
+        }
+
+        UUID next() {
+            return this == BINARY_TIME_ORDERED ? TimeOrderedUuidGenerator.next() : UUID.randomUUID();
+        }
+    }
+
+    @Param({"2000000"})
+    private int rows;
+
+    @Param
+    private IdStorage idStorage;
+
+    private File databaseFile;
+    private Connection connection;
+    private PreparedStatement insert;
+    private long upc;
+
+    @Setup
+    public void setUp() throws SQLException {
+        File directory = new File("target/jmh-h2");
+        String name = "beer-ids-" + idStorage.name().toLowerCase();
+        databaseFile = new File(directory, name + ".mv.db");
+        databaseFile.delete();
+        String url = "jdbc:h2:file:" + new File(directory, name).getAbsolutePath();
+        connect(url);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table beer (id " + idStorage.columnType + " not null primary key,"
+                    + " created_date timestamp, beer_name varchar(255), upc varchar(255) unique, price decimal(19, 2))");
+            statement.execute("create index ix_beer_created_date_id on beer (created_date, id)");
+        }
+        prepareInsert();
+
+        long start = System.nanoTime();
+        while (upc < rows) {
+            insertBatch();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("checkpoint sync");
+        }
+        long written = databaseFile.length();
+        // the store is append-only; compacting drops superseded pages and leaves the live table and indexes
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("shutdown compact");
+        }
+        long live = databaseFile.length();
+        connect(url);
+        prepareInsert();
+        System.out.printf("%n%s: loaded %d rows at %.0f rows/s; file %.1f MB before compaction, %.1f MB"
+                        + " (%.1f bytes/row) after%n", idStorage, rows, rows / seconds, written / 1e6, live / 1e6,
+                live / (double) rows);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        databaseFile.delete();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            // binding the 16 bytes is what Hibernate did for the varchar column too, which stored them as hex
+            insert.setBytes(1, bytes(idStorage.next()));
+            insert.setTimestamp(2, now);
+            insert.setString(3, "Beer " + upc);
+            insert.setString(4, Long.toString(upc++));
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private void connect(String url) throws SQLException {
+        connection = DriverManager.getConnection(url, "sa", "");
+        connection.setAutoCommit(false);
+    }
+
+    private void prepareInsert() throws SQLException {
+        insert = connection.prepareStatement("insert into beer (id, created_date, beer_name, upc, price)"
+                + " values (?, ?, ?, ?, 9.99)");
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,241 @@
+package com.beerservice.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load against a running beer service: each of {@code concurrency} clients runs the operations
+ * of {@code scenario} for {@code seconds}, then latency percentiles and throughput are printed per operation and
+ * in total. Requests shed with 503 are counted apart, and their client waits out the Retry-After. Clients draw
+ * their operations and beers from {@code seed}, so two runs against the same catalog issue the same request mix.
+ * <p>
+ * Usage: {@code HttpLoadDriver [baseUrl] [concurrency] [seconds] [scenario] [seed]}
+ */
+public class HttpLoadDriver {
+
+    private static final String BEER_PATH = "/api/v1/beer";
+    private static final int ID_SAMPLE_PAGES = 10;
+    private static final int ID_SAMPLE_PAGE_SIZE = 1000;
+    private static final String[] STYLES = {"LAGER", "PILSNER", "STOUT", "GOSE", "PORTER", "ALE", "WHEAT", "IPA",
+            "PALE_ALE", "SAISON"};
+
+    enum Operation {
+        GET_BY_ID, LIST_BY_STYLE, CREATE, UPDATE
+    }
+
+    /**
+     * Percentages of {@link Operation#GET_BY_ID}, {@link Operation#LIST_BY_STYLE}, {@link Operation#CREATE} and
+     * {@link Operation#UPDATE}.
+     */
+    enum Scenario {
+        BY_ID(100, 0, 0, 0),
+        READ_HEAVY(80, 15, 2, 3),
+        MIXED(50, 20, 10, 20),
+        WRITE_HEAVY(15, 5, 40, 40);
+
+        private final int[] cumulativePercent;
+
+        Scenario(int... percentages) {
+            cumulativePercent = new int[percentages.length];
+            int total = 0;
+            for (int i = 0; i < percentages.length; i++) {
+                total += percentages[i];
+                cumulativePercent[i] = total;
+            }
+        }
+
+        Operation next(SplittableRandom random) {
+            int roll = random.nextInt(100);
+            for (int i = 0; i < cumulativePercent.length; i++) {
+                if (roll < cumulativePercent[i]) {
+                    return Operation.values()[i];
+                }
+            }
+            return Operation.GET_BY_ID;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        Scenario scenario = args.length > 3 ? Scenario.valueOf(args[3].toUpperCase(Locale.ROOT)) : Scenario.BY_ID;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, concurrency / 4)))
+                .build();
+        List<String> beerIds = fetchBeerIds(client, baseUrl, new Random(seed));
+        if (beerIds.isEmpty()) {
+            throw new IllegalStateException("No beers found at " + baseUrl + BEER_PATH);
+        }
+        // keeps UPCs of beers created by this run apart from earlier runs
+        long runId = System.currentTimeMillis() / 1000 % 1000;
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<Operation, Recorder>>> results = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int clientId = i;
+            results.add(clients.submit(() -> {
+                Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+                SplittableRandom random = new SplittableRandom(seed + clientId);
+                long created = 0;
+                while (System.nanoTime() < deadline) {
+                    Operation operation = scenario.next(random);
+                    String id = beerIds.get(random.nextInt(beerIds.size()));
+                    HttpRequest request;
+                    switch (operation) {
+                        case LIST_BY_STYLE:
+                            request = HttpRequest.newBuilder(URI.create(baseUrl + BEER_PATH + "?beerStyle="
+                                    + STYLES[random.nextInt(STYLES.length)])).GET().build();
+                            break;
+                        case CREATE:
+                            String upc = String.format("6%03d%03d%06d", runId, clientId % 1000, created++ % 1_000_000);
+                            request = HttpRequest.newBuilder(URI.create(baseUrl + BEER_PATH))
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString("{\"beerName\":\"Load Test " + upc
+                                            + "\",\"beerStyle\":\"" + STYLES[random.nextInt(STYLES.length)]
+                                            + "\",\"upc\":\"" + upc + "\",\"price\":\"" + price(random) + "\"}"))
+                                    .build();
+                            break;
+                        case UPDATE:
+                            request = HttpRequest.newBuilder(URI.create(baseUrl + BEER_PATH + "/" + id))
+                                    .header("Content-Type", "application/merge-patch+json")
+                                    .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                            "{\"price\":\"" + price(random) + "\"}"))
+                                    .build();
+                            break;
+                        default:
+                            request = HttpRequest.newBuilder(URI.create(baseUrl + BEER_PATH + "/" + id)).GET().build();
+                    }
+                    Recorder recorder = recorders.computeIfAbsent(operation, ignored -> new Recorder());
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 503) {
+                            recorder.shed();
+                            Thread.sleep(TimeUnit.SECONDS.toMillis(response.headers().firstValueAsLong("Retry-After")
+                                    .orElse(1)));
+                        } else {
+                            recorder.record(System.nanoTime() - start, response.statusCode() < 400);
+                        }
+                    } catch (Exception e) {
+                        recorder.record(System.nanoTime() - start, false);
+                    }
+                }
+                return recorders;
+            }));
+        }
+
+        Map<Operation, Recorder> byOperation = new EnumMap<>(Operation.class);
+        Recorder total = new Recorder();
+        for (Future<Map<Operation, Recorder>> result : results) {
+            result.get().forEach((operation, recorder) -> {
+                byOperation.computeIfAbsent(operation, ignored -> new Recorder()).merge(recorder);
+                total.merge(recorder);
+            });
+        }
+        clients.shutdown();
+        if (byOperation.size() > 1) {
+            byOperation.forEach((operation, recorder) -> {
+                System.out.println("-- " + operation);
+                recorder.print(seconds);
+            });
+            System.out.println("-- total (" + scenario + ")");
+        }
+        total.print(seconds);
+        System.exit(0);
+    }
+
+    // a sample of ids from pages spread over the catalog, so a generated catalog is not read only from its head
+    private static List<String> fetchBeerIds(HttpClient client, String baseUrl, Random random) throws Exception {
+        JsonNode first = fetchPage(client, baseUrl, 0);
+        List<String> ids = new ArrayList<>();
+        first.path("content").forEach(beer -> ids.add(beer.path("id").asText()));
+        int totalPages = first.path("totalPages").asInt(1);
+        for (int i = 1; i < Math.min(ID_SAMPLE_PAGES, totalPages); i++) {
+            fetchPage(client, baseUrl, 1 + random.nextInt(totalPages - 1))
+                    .path("content").forEach(beer -> ids.add(beer.path("id").asText()));
+        }
+        return ids;
+    }
+
+    private static JsonNode fetchPage(HttpClient client, String baseUrl, int pageNumber) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + BEER_PATH + "?pageSize="
+                + ID_SAMPLE_PAGE_SIZE + "&pageNumber=" + pageNumber)).GET().build();
+        return new ObjectMapper().readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private static String price(SplittableRandom random) {
+        return (4 + random.nextInt(20)) + ".95";
+    }
+
+    static class Recorder {
+
+        private long[] latencies = new long[1 << 16];
+        private int count;
+        private long errors;
+        private long shed;
+
+        void record(long latencyNanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        // turned away by admission control; kept out of the percentiles, which describe admitted requests
+        void shed() {
+            shed++;
+        }
+
+        void merge(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+            shed += other.shed;
+        }
+
+        void print(int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("requests=%d errors=%d shed=%d throughput=%.1f req/s%n", count, errors, shed,
+                    count / (double) seconds);
+            System.out.printf("p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.beerservice.services;
+
+import com.beerservice.MsscBeerServiceApplication;
+import com.beerservice.web.model.BeerPagedList;
+import com.beerservice.web.model.BeerStyleEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of a name search over a generated catalog: the in-memory index against the LIKE queries a
+ * search box would otherwise run. A leading-wildcard LIKE scans the table; a prefix LIKE can use the
+ * beerName index but is case sensitive.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BeerSearchBenchmark {
+
+    private static final String[] SYLLABLES = {"ha", "zy", "man", "go", "ot", "ter", "fal", "con", "lan", "ra",
+            "ven", "ma", "ple", "bad", "ger", "or", "chard", "can", "yon", "this"};
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 25);
+
+    @Param({"100000"})
+    private int beers;
+
+    // a small vocabulary makes every term match thousands of beers, a large one is closer to a real catalog
+    @Param({"32", "4096"})
+    private int distinctWords;
+
+    private ConfigurableApplicationContext context;
+    private BeerSearchService beerSearchService;
+    private JdbcTemplate jdbcTemplate;
+    private String[] vocabulary;
+    private String prefix;
+    private String infix;
+    private String twoTerms;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MsscBeerServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        vocabulary = vocabulary(distinctWords);
+        prefix = vocabulary[0].substring(0, 2);
+        infix = vocabulary[1].substring(1, 4);
+        twoTerms = vocabulary[2] + " " + vocabulary[3].substring(0, 3);
+        insertBeers();
+        context.getBean(BeerSearchServiceImpl.class).load();
+        beerSearchService = context.getBean(BeerSearchService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BeerPagedList indexPrefix() {
+        return beerSearchService.search(prefix, null, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public BeerPagedList indexContains() {
+        return beerSearchService.search(infix, null, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public BeerPagedList indexTwoTermsAndStyle() {
+        return beerSearchService.search(twoTerms, BeerStyleEnum.IPA, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> likePrefix() {
+        return jdbcTemplate.queryForList("select id, version, beer_name, beer_style, upc, price from beer"
+                + " where beer_name like ? order by beer_name limit 25", capitalize(prefix) + "%");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> likeContains() {
+        return jdbcTemplate.queryForList("select id, version, beer_name, beer_style, upc, price from beer"
+                + " where lower(beer_name) like ? order by beer_name limit 25", "%" + infix + "%");
+    }
+
+    private void insertBeers() {
+        Random random = new Random(42);
+        BeerStyleEnum[] styles = BeerStyleEnum.values();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(1000);
+        for (int i = 0; i < beers; i++) {
+            String name = capitalize(vocabulary[random.nextInt(vocabulary.length)]) + " "
+                    + capitalize(vocabulary[random.nextInt(vocabulary.length)]) + " " + i;
+            rows.add(new Object[]{uuidBytes(UUID.randomUUID()), now, now, name,
+                    styles[random.nextInt(styles.length)].name(), String.format("9%011d", i), new BigDecimal("9.99")});
+            if (rows.size() == 1000 || i == beers - 1) {
+                jdbcTemplate.batchUpdate("insert into beer (id, version, created_date, last_modified_date, beer_name,"
+                        + " beer_style, upc, price) values (?, 0, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private static String[] vocabulary(int size) {
+        Random random = new Random(7);
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < size) {
+            StringBuilder word = new StringBuilder();
+            for (int syllables = 2 + random.nextInt(2); syllables > 0; syllables--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    // the id columns are binary(16), the layout Hibernate binds UUIDs in
+    private static byte[] uuidBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
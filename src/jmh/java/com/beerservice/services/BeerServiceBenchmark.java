@@ -0,0 +1,64 @@
+package com.beerservice.services;
+
+import com.beerservice.MsscBeerServiceApplication;
+import com.beerservice.repositories.BeerRepository;
+import com.beerservice.web.model.BeerDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the service against the application's in-memory H2 database, with and without the BeerDto cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BeerServiceBenchmark {
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private UUID beerId;
+    private BeerDto update;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MsscBeerServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--beer.cache.enabled=" + cacheEnabled,
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        beerService = context.getBean(BeerService.class);
+        beerId = context.getBean(BeerRepository.class).findAll().iterator().next().getId();
+        update = beerService.getById(beerId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BeerDto getById() {
+        return beerService.getById(beerId);
+    }
+
+    @Benchmark
+    public BeerDto updateBeer() {
+        return beerService.updateBeer(beerId, update, null);
+    }
+}
@@ -0,0 +1,65 @@
+package com.beerservice.web.mappers;
+
+import com.beerservice.domain.Beer;
+import com.beerservice.web.model.BeerDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class BeerMapperBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private BeerMapper beerMapper;
+    private Beer beer;
+    private BeerDto beerDto;
+
+    @Setup
+    public void setUp() {
+        // the generated mapper field-injects DateMapper, so let Spring wire it
+        context = new AnnotationConfigApplicationContext(BeerMapperImpl.class, DateMapper.class);
+        beerMapper = context.getBean(BeerMapper.class);
+
+        beer = Beer.builder()
+                .id(UUID.randomUUID())
+                .version(3L)
+                .createdDate(Timestamp.valueOf("2019-06-01 10:15:30.123"))
+                .lastModifiedDate(Timestamp.valueOf("2019-06-02 11:00:00.456"))
+                .beerName("Mango Bobs")
+                .beerStyle("IPA")
+                .upc("0631234200036")
+                .price(new BigDecimal("12.95"))
+                .minOnHand(12)
+                .quantityToBrew(200)
+                .build();
+        beerDto = beerMapper.beerToBeerDto(beer);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BeerDto beerToBeerDto() {
+        return beerMapper.beerToBeerDto(beer);
+    }
+
+    @Benchmark
+    public Beer beerDtoToBeer() {
+        return beerMapper.beerDtoToBeer(beerDto);
+    }
+}
@@ -0,0 +1,33 @@
+package com.beerservice.web.mappers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class DateMapperBenchmark {
+
+    private final DateMapper dateMapper = new DateMapper();
+    private final Timestamp timestamp = Timestamp.valueOf("2019-06-01 10:15:30.123456789");
+    private final OffsetDateTime offsetDateTime = OffsetDateTime.of(2019, 6, 1, 10, 15, 30, 123456789, ZoneOffset.UTC);
+
+    @Benchmark
+    public OffsetDateTime asOffsetDateTime() {
+        return dateMapper.asOffsetDateTime(timestamp);
+    }
+
+    @Benchmark
+    public Timestamp asTimeStamp() {
+        return dateMapper.asTimeStamp(offsetDateTime);
+    }
+}
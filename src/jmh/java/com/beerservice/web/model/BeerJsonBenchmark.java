@@ -0,0 +1,82 @@
+package com.beerservice.web.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class BeerJsonBenchmark {
+
+    @Param({"25"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private BeerDto beerDto;
+    private byte[] beerDtoJson;
+    private BeerPagedList beerPagedList;
+    private byte[] beerPagedListJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        // same builder Spring Boot uses for the MVC converters
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<BeerDto> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(BeerDto.builder()
+                    .id(UUID.randomUUID())
+                    .version(1)
+                    .createdDate(OffsetDateTime.of(2019, 6, 1, 10, 15, 30, 0, ZoneOffset.UTC))
+                    .lastModifiedDate(OffsetDateTime.of(2019, 6, 2, 11, 0, 0, 0, ZoneOffset.UTC))
+                    .beerName("Beer " + i)
+                    .beerStyle(BeerStyleEnum.values()[i % BeerStyleEnum.values().length])
+                    .upc("06312342" + i)
+                    .price(new BigDecimal("12.95"))
+                    .quantityOnHand(i)
+                    .build());
+        }
+        beerDto = content.get(0);
+        beerDtoJson = objectMapper.writeValueAsBytes(beerDto);
+        beerPagedList = new BeerPagedList(content, PageRequest.of(0, pageSize), 10_000);
+        beerPagedListJson = objectMapper.writeValueAsBytes(beerPagedList);
+    }
+
+    @Benchmark
+    public byte[] writeBeerDto() throws IOException {
+        return objectMapper.writeValueAsBytes(beerDto);
+    }
+
+    @Benchmark
+    public BeerDto readBeerDto() throws IOException {
+        return objectMapper.readValue(beerDtoJson, BeerDto.class);
+    }
+
+    @Benchmark
+    public byte[] writeBeerPagedList() throws IOException {
+        return objectMapper.writeValueAsBytes(beerPagedList);
+    }
+
+    @Benchmark
+    public BeerPagedList readBeerPagedList() throws IOException {
+        return objectMapper.readValue(beerPagedListJson, BeerPagedList.class);
+    }
+}
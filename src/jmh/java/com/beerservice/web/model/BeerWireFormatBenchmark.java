@@ -0,0 +1,86 @@
+package com.beerservice.web.model;
+
+import com.beerservice.config.BinaryWireFormatConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of a beer page per wire format. Payload sizes are printed once per fork at setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class BeerWireFormatBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private String format;
+
+    @Param({"25"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private BeerPagedList beerPagedList;
+    private byte[] beerPagedListBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        switch (format) {
+            case "SMILE":
+                objectMapper = BinaryWireFormatConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+                break;
+            case "CBOR":
+                objectMapper = BinaryWireFormatConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+                break;
+            default:
+                objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        }
+
+        List<BeerDto> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(BeerDto.builder()
+                    .id(UUID.randomUUID())
+                    .version(1)
+                    .createdDate(OffsetDateTime.of(2019, 6, 1, 10, 15, 30, 0, ZoneOffset.UTC))
+                    .lastModifiedDate(OffsetDateTime.of(2019, 6, 2, 11, 0, 0, 0, ZoneOffset.UTC))
+                    .beerName("Beer " + i)
+                    .beerStyle(BeerStyleEnum.values()[i % BeerStyleEnum.values().length])
+                    .upc("06312342" + i)
+                    .price(new BigDecimal("12.95"))
+                    .quantityOnHand(i)
+                    .build());
+        }
+        beerPagedList = new BeerPagedList(content, PageRequest.of(0, pageSize), 10_000);
+        beerPagedListBytes = objectMapper.writeValueAsBytes(beerPagedList);
+        System.out.printf("%n%s page of %d beers: %d bytes%n", format, pageSize, beerPagedListBytes.length);
+    }
+
+    @Benchmark
+    public byte[] writeBeerPagedList() throws IOException {
+        return objectMapper.writeValueAsBytes(beerPagedList);
+    }
+
+    @Benchmark
+    public BeerPagedList readBeerPagedList() throws IOException {
+        return objectMapper.readValue(beerPagedListBytes, BeerPagedList.class);
+    }
+}
@@ -4,9 +4,16 @@ package com.beerservice.bootstrap;
 import com.beerservice.domain.Beer;
 import com.beerservice.repositories.BeerRepository;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 public class BeerLoader implements CommandLineRunner {
@@ -15,6 +22,8 @@ public class BeerLoader implements CommandLineRunner {
     public static final String BEER_2_UPC = "0631234300019";
     public static final String BEER_3_UPC = "0083783375213";
 
+    static final String SEED_FILE = "seed/beers.csv";
+
     private final BeerRepository beerRepository;
 
     public BeerLoader(BeerRepository beerRepository) {
@@ -26,35 +35,34 @@ public class BeerLoader implements CommandLineRunner {
         loadBeerObjects();
     }
 
-    private void loadBeerObjects() {
+    private void loadBeerObjects() throws IOException {
         if(beerRepository.count() == 0){
+            // one transaction, and the inserts go out as a single JDBC batch
+            beerRepository.saveAll(readSeedBeers());
+        }
+    }
 
-            beerRepository.save(Beer.builder()
-                    .beerName("Mango Bobs")
-                    .beerStyle("IPA")
-                    .quantityToBrew(200)
-                    .minOnHand(12)
-                    .upc(BEER_1_UPC)
-                    .price(new BigDecimal("12.95"))
-                    .build());
-
-            beerRepository.save(Beer.builder()
-                    .beerName("Galaxy Cat")
-                    .beerStyle("PALE_ALE")
-                    .quantityToBrew(200)
-                    .minOnHand(12)
-                    .upc(BEER_2_UPC)
-                    .price(new BigDecimal("11.95"))
-                    .build());
-
-            beerRepository.save(Beer.builder()
-                    .beerName("No Hammers On The Bar")
-                    .beerStyle("PALE_ALE")
-                    .quantityToBrew(200)
-                    .minOnHand(12)
-                    .upc(BEER_3_UPC)
-                    .price(new BigDecimal("11.95"))
-                    .build());
+    static List<Beer> readSeedBeers() throws IOException {
+        List<Beer> beers = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(SEED_FILE).getInputStream(), StandardCharsets.UTF_8))) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                beers.add(Beer.builder()
+                        .beerName(columns[0])
+                        .beerStyle(columns[1])
+                        .upc(columns[2])
+                        .price(new BigDecimal(columns[3]))
+                        .minOnHand(Integer.valueOf(columns[4]))
+                        .quantityToBrew(Integer.valueOf(columns[5]))
+                        .build());
+            }
         }
+        return beers;
     }
 }
@@ -0,0 +1,262 @@
+package com.beerservice.bootstrap;
+
+import com.beerservice.domain.TimeOrderedUuidGenerator;
+import com.beerservice.web.model.BeerStyleEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the beer table with a synthetic catalog of {@code beer.catalog.size} rows for load testing. Every row is
+ * derived from its index and {@code beer.catalog.seed} alone, so the same settings produce the same catalog
+ * whatever the thread count. Against a file database a restart fills in only the rows still missing, batch by
+ * batch, so an interrupted parallel run, which can leave gaps and half-written batches, is completed exactly.
+ * Styles follow a Zipf distribution ({@code beer.catalog.style-skew}) over {@link #STYLES_BY_POPULARITY}. UPCs
+ * are valid EAN-13 codes starting with 7, which keeps them apart from the seed beers.
+ */
+@Slf4j
+@Profile("catalog")
+@Component
+public class CatalogGenerator implements CommandLineRunner {
+
+    static final BeerStyleEnum[] STYLES_BY_POPULARITY = {BeerStyleEnum.IPA, BeerStyleEnum.LAGER,
+            BeerStyleEnum.PALE_ALE, BeerStyleEnum.PILSNER, BeerStyleEnum.STOUT, BeerStyleEnum.WHEAT,
+            BeerStyleEnum.ALE, BeerStyleEnum.PORTER, BeerStyleEnum.SAISON, BeerStyleEnum.GOSE};
+
+    private static final String UPC_PREFIX = "7";
+    private static final long CREATED_SPAN_MILLIS = Duration.ofDays(730).toMillis();
+    private static final String[] ADJECTIVES = {"Hazy", "Golden", "Midnight", "Wild", "Old", "Hoppy", "Dark",
+            "Crisp", "Velvet", "Rusty", "Smoked", "Lucky", "Bitter", "Juicy", "Frosty", "Copper", "Royal",
+            "Electric", "Lazy", "Salty", "Iron", "Red", "Black", "Silver", "Twisted", "Barrel Aged", "Double",
+            "Imperial", "Session", "Little"};
+    private static final String[] NOUNS = {"Falcon", "Harbor", "Mango", "Badger", "Canyon", "Orchard", "Otter",
+            "Raven", "Lantern", "Anchor", "Comet", "Meadow", "Hammer", "Galaxy", "Pine", "Cat", "River", "Summit",
+            "Fox", "Bandit", "Monk", "Tide", "Ember", "Cobra", "Prairie", "Volcano", "Dragon", "Citrus",
+            "Compass", "Thunder"};
+    private static final String[] PRICE_CENTS = {".49", ".95", ".99"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long size;
+    private final int threads;
+    private final int batchSize;
+    private final long seed;
+    private final long epochMillis;
+    private final double[] styleCumulativeWeights;
+
+    public CatalogGenerator(JdbcTemplate jdbcTemplate,
+                            @Value("${beer.catalog.size:1000000}") long size,
+                            @Value("${beer.catalog.threads:4}") int threads,
+                            @Value("${beer.catalog.batch-size:1000}") int batchSize,
+                            @Value("${beer.catalog.seed:42}") long seed,
+                            @Value("${beer.catalog.style-skew:1.0}") double styleSkew) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.size = size;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.seed = seed;
+        // fixed, so created dates (and with them the default list order) do not depend on when the run happens
+        this.epochMillis = Timestamp.valueOf("2026-01-01 00:00:00").getTime();
+        this.styleCumulativeWeights = cumulativeZipfWeights(STYLES_BY_POPULARITY.length, styleSkew);
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject("select count(*) from beer where upc like ?", Long.class,
+                UPC_PREFIX + "%");
+        long present = existing == null ? 0 : existing;
+        if (present >= size) {
+            log.info("Catalog already has {} generated beers", present);
+            return;
+        }
+        generate(present);
+    }
+
+    private void generate(long present) throws Exception {
+        log.info("Generating {} missing beers of {} with {} threads", size - present, size, threads);
+        long start = System.nanoTime();
+        AtomicLong nextBatch = new AtomicLong();
+        AtomicLong inserted = new AtomicLong();
+        long progressStep = Math.max(batchSize, (size - present) / 10);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads,
+                runnable -> new Thread(runnable, "catalog-" + threadNumber.incrementAndGet()));
+        try {
+            List<Future<?>> results = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                results.add(workers.submit(() -> {
+                    long from;
+                    while ((from = nextBatch.getAndAdd(batchSize)) < size) {
+                        int count = insertBatch(from, (int) Math.min(batchSize, size - from));
+                        long total = inserted.addAndGet(count);
+                        if (total / progressStep != (total - count) / progressStep) {
+                            log.info("Generated {} of {} beers", present + total, size);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+        log.info("Generated {} beers in {} s ({} rows/s)", inserted.get(), String.format("%.1f", seconds),
+                Math.round(inserted.get() / seconds));
+    }
+
+    private int insertBatch(long from, int count) {
+        // a batch's UPCs sort in index order, so one range query finds those an earlier run already wrote
+        Set<String> written = new HashSet<>(jdbcTemplate.queryForList("select upc from beer where upc between ? and ?",
+                String.class, upc(from), upc(from + count - 1)));
+        List<CatalogRow> rows = new ArrayList<>(count - written.size());
+        for (long index = from; index < from + count; index++) {
+            if (!written.contains(upc(index))) {
+                rows.add(row(index));
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate("insert into beer (id, version, created_date, last_modified_date, beer_name,"
+                        + " beer_style, upc, price, min_on_hand, quantity_to_brew) values (?, 0, ?, ?, ?, ?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        CatalogRow row = rows.get(i);
+                        ps.setBytes(1, uuidBytes(row.getId()));
+                        ps.setTimestamp(2, row.getCreatedDate());
+                        ps.setTimestamp(3, now);
+                        ps.setString(4, row.getBeerName());
+                        ps.setString(5, row.getBeerStyle().name());
+                        ps.setString(6, row.getUpc());
+                        ps.setBigDecimal(7, row.getPrice());
+                        ps.setInt(8, row.getMinOnHand());
+                        ps.setInt(9, row.getQuantityToBrew());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                });
+        return rows.size();
+    }
+
+    CatalogRow row(long index) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+        Timestamp createdDate = new Timestamp(epochMillis - (long) (random.nextDouble() * CREATED_SPAN_MILLIS));
+        // time-ordered like the ids the service generates, dated when the beer was created
+        UUID id = TimeOrderedUuidGenerator.of(createdDate.getTime(), (int) index, random.nextLong());
+        BeerStyleEnum style = style(random.nextDouble());
+        String beerName = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                + NOUNS[random.nextInt(NOUNS.length)] + " " + styleLabel(style);
+        // log-normal around 11, the way shelf prices bunch up with a long premium tail
+        double price = Math.exp(Math.log(11) + 0.35 * gaussian(random));
+        long dollars = Math.max(3, Math.min(39, (long) price));
+        return new CatalogRow(id,
+                createdDate,
+                beerName,
+                style,
+                upc(index),
+                new BigDecimal(dollars + PRICE_CENTS[random.nextInt(PRICE_CENTS.length)]),
+                6 * (1 + random.nextInt(8)),
+                50 * (2 + random.nextInt(9)));
+    }
+
+    static String upc(long index) {
+        String digits = UPC_PREFIX + String.format("%011d", index);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            int digit = digits.charAt(i) - '0';
+            sum += i % 2 == 0 ? digit : 3 * digit;
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+
+    private BeerStyleEnum style(double uniform) {
+        for (int i = 0; i < styleCumulativeWeights.length - 1; i++) {
+            if (uniform < styleCumulativeWeights[i]) {
+                return STYLES_BY_POPULARITY[i];
+            }
+        }
+        return STYLES_BY_POPULARITY[styleCumulativeWeights.length - 1];
+    }
+
+    private static double[] cumulativeZipfWeights(int count, double skew) {
+        double[] cumulative = new double[count];
+        double total = 0;
+        for (int rank = 1; rank <= count; rank++) {
+            total += 1 / Math.pow(rank, skew);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < count; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static String styleLabel(BeerStyleEnum style) {
+        switch (style) {
+            case IPA:
+                return "IPA";
+            case PALE_ALE:
+                return "Pale Ale";
+            default:
+                return style.name().charAt(0) + style.name().substring(1).toLowerCase();
+        }
+    }
+
+    // the id columns are binary(16), the layout Hibernate binds UUIDs in
+    private static byte[] uuidBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class CatalogRow {
+        private final UUID id;
+        private final Timestamp createdDate;
+        private final String beerName;
+        private final BeerStyleEnum beerStyle;
+        private final String upc;
+        private final BigDecimal price;
+        private final int minOnHand;
+        private final int quantityToBrew;
+    }
+}
@@ -0,0 +1,75 @@
+package com.beerservice.config;
+
+import com.beerservice.web.model.BeerDto;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Serves CBOR and Smile next to JSON for service-to-service callers that ask for them via Accept or
+ * Content-Type. JSON stays first in the converter list and therefore remains the default.
+ */
+@RequiredArgsConstructor
+@Configuration
+public class BinaryWireFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    /**
+     * Builds a binary mapper from the application's Jackson settings. Prices and dates travel as numbers
+     * instead of the strings the JSON contract fixes, which is where most of the size and parse cost went.
+     */
+    public static ObjectMapper binaryObjectMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .mixIn(BeerDto.class, BinaryBeerDtoMixIn.class)
+                .featuresToDisable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+                        DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .build();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // replaces Spring's stock binary converters, which are built without the application's Jackson setup
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+
+        int json = 0;
+        while (json < converters.size() && !(converters.get(json) instanceof MappingJackson2HttpMessageConverter)) {
+            json++;
+        }
+        int after = Math.min(json + 1, converters.size());
+        converters.add(after, new MappingJackson2CborHttpMessageConverter(
+                binaryObjectMapper(objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::json), new CBORFactory())));
+        converters.add(after, new MappingJackson2SmileHttpMessageConverter(
+                binaryObjectMapper(objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::json), new SmileFactory())));
+    }
+
+    abstract static class BinaryBeerDtoMixIn {
+
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        OffsetDateTime createdDate;
+
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        OffsetDateTime lastModifiedDate;
+
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        BigDecimal price;
+    }
+}
@@ -0,0 +1,45 @@
+package com.beerservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+@EnableCaching
+@ConditionalOnProperty(value = "beer.cache.enabled", havingValue = "true", matchIfMissing = true)
+@Configuration
+public class CacheConfig {
+
+    public static final String BEER_CACHE = "beerCache";
+    public static final String BEER_UPC_CACHE = "beerUpcCache";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${beer.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${beer.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache createCaffeineCache(String name) {
+                // puts and evictions made in a transaction wait for its commit, so a rollback leaves nothing behind
+                return new TransactionAwareCacheDecorator(
+                        new VersionAwareCaffeineCache(name, createNativeCaffeineCache(name), isAllowNullValues()));
+            }
+        };
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        // named up front so actuator binds hit/miss metrics at startup
+        cacheManager.setCacheNames(Arrays.asList(BEER_CACHE, BEER_UPC_CACHE));
+        return cacheManager;
+    }
+}
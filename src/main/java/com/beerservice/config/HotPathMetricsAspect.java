@@ -0,0 +1,91 @@
+package com.beerservice.config;
+
+import com.beerservice.web.controller.exception.BadRequestException;
+import com.beerservice.web.controller.exception.NotFoundException;
+import com.beerservice.web.controller.exception.PreconditionFailedException;
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerStyleEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every {@code BeerService} and {@code BeerRepository} call, tagged by method and outcome. It sits outside
+ * caching and transactions so cache hits and commits are part of the service timing, and just inside the
+ * database guard so repository timings are query latency without the permit wait.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+@Component
+public class HotPathMetricsAspect {
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(com.beerservice.services.BeerServiceImpl) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("beer.service.calls", joinPoint, beerStyleOf(joinPoint.getArgs()));
+    }
+
+    @Around("this(com.beerservice.repositories.BeerRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("beer.repository.calls", joinPoint, null);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint, String beerStyle) throws Throwable {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            Timer.Builder timer = Timer.builder(name)
+                    .tags("method", joinPoint.getSignature().getName(), "outcome", outcomeOf(failure));
+            if (beerStyle != null) {
+                timer.tag("beerStyle", beerStyle);
+            }
+            timer.register(meterRegistry).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String beerStyleOf(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof BeerStyleEnum) {
+                return ((BeerStyleEnum) arg).name();
+            }
+            if (arg instanceof BeerDto && ((BeerDto) arg).getBeerStyle() != null) {
+                return ((BeerDto) arg).getBeerStyle().name();
+            }
+        }
+        return NONE;
+    }
+
+    private static String outcomeOf(Throwable failure) {
+        if (failure == null) {
+            return "SUCCESS";
+        }
+        if (failure instanceof NotFoundException) {
+            return "NOT_FOUND";
+        }
+        if (failure instanceof PreconditionFailedException) {
+            return "PRECONDITION_FAILED";
+        }
+        if (failure instanceof BadRequestException || failure instanceof ConstraintViolationException) {
+            return "CLIENT_ERROR";
+        }
+        return "SERVER_ERROR";
+    }
+}
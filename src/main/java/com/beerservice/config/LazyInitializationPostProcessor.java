@@ -0,0 +1,49 @@
+package com.beerservice.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Marks application singletons lazy so that refresh only builds what the web server and the eager beans need;
+ * everything else is created on first use. Beans with {@code @Scheduled} methods (the scheduler only sees
+ * instantiated beans), {@link SmartInitializingSingleton}s and classes annotated {@code @Lazy(false)} stay eager.
+ */
+class LazyInitializationPostProcessor implements BeanFactoryPostProcessor {
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.isSingleton() && !definition.isAbstract()
+                    && definition.getRole() == BeanDefinition.ROLE_APPLICATION
+                    && !mustStayEager(definition.getBeanClassName(), beanFactory.getBeanClassLoader())) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    private static boolean mustStayEager(String className, ClassLoader classLoader) {
+        if (className == null || !ClassUtils.isPresent(className, classLoader)) {
+            return false;
+        }
+        Class<?> type = ClassUtils.resolveClassName(className, classLoader);
+        if (SmartInitializingSingleton.class.isAssignableFrom(type) || type.isAnnotationPresent(Lazy.class)) {
+            return true;
+        }
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(type)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
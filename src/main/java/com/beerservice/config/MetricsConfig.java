@@ -0,0 +1,47 @@
+package com.beerservice.config;
+
+import com.beerservice.web.model.BeerStyleEnum;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.DefaultWebMvcTagsProvider;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Configuration
+public class MetricsConfig {
+
+    private static final Tag NO_BEER_STYLE = Tag.of("beerStyle", "none");
+
+    /**
+     * Adds a {@code beerStyle} tag to {@code http.server.requests}. Only known styles become tag values, so a
+     * client sending arbitrary strings cannot blow up the series count.
+     */
+    @Bean
+    public WebMvcTagsProvider webMvcTagsProvider() {
+        return new DefaultWebMvcTagsProvider() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Throwable exception) {
+                return Tags.concat(super.getTags(request, response, handler, exception),
+                        Tags.of(beerStyleTag(request.getParameter("beerStyle"))));
+            }
+        };
+    }
+
+    private static Tag beerStyleTag(String beerStyle) {
+        if (beerStyle != null) {
+            for (BeerStyleEnum style : BeerStyleEnum.values()) {
+                if (style.name().equals(beerStyle)) {
+                    return Tag.of("beerStyle", style.name());
+                }
+            }
+        }
+        return NO_BEER_STYLE;
+    }
+}
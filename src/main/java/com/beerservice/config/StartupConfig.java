@@ -0,0 +1,25 @@
+package com.beerservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static StartupTimeline startupTimeline() {
+        return new StartupTimeline();
+    }
+
+    @ConditionalOnProperty("beer.startup.lazy-initialization")
+    @Bean
+    public static LazyInitializationPostProcessor lazyInitializationPostProcessor() {
+        return new LazyInitializationPostProcessor();
+    }
+
+    @Bean
+    public StartupEndpoint startupEndpoint(StartupTimeline startupTimeline) {
+        return new StartupEndpoint(startupTimeline);
+    }
+}
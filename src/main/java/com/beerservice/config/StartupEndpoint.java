@@ -0,0 +1,17 @@
+package com.beerservice.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+@Endpoint(id = "startup")
+@RequiredArgsConstructor
+public class StartupEndpoint {
+
+    private final StartupTimeline startupTimeline;
+
+    @ReadOperation
+    public StartupTimeline.StartupReport startup() {
+        return startupTimeline.report();
+    }
+}
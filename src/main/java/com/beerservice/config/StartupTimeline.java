@@ -0,0 +1,148 @@
+package com.beerservice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records how long each bean took to create and when the application passed its startup milestones, all in
+ * milliseconds since JVM start. A bean's own time excludes the dependencies created while it was being built.
+ * Beans created after startup (lazy ones) are recorded too, which shows what the first requests paid for.
+ */
+@Slf4j
+public class StartupTimeline implements InstantiationAwareBeanPostProcessor, SmartApplicationListener, PriorityOrdered {
+
+    private static final int LOGGED_BEANS = 5;
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final long contextStartedMillis = sinceJvmStart();
+    private final ThreadLocal<Deque<BeanInProgress>> inProgress = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Map<String, BeanInitTime> beans = new ConcurrentHashMap<>();
+    private volatile Long webServerStartedMillis;
+    private volatile Long readyMillis;
+    private volatile Long firstRequestMillis;
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+        inProgress.get().push(new BeanInProgress(beanName, beanClass.getName(), System.nanoTime()));
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Deque<BeanInProgress> stack = inProgress.get();
+        // FactoryBean products and beans short-circuited by another post processor have no matching entry
+        if (stack.isEmpty() || !stack.peek().name.equals(beanName)) {
+            return bean;
+        }
+        BeanInProgress finished = stack.pop();
+        long totalNanos = System.nanoTime() - finished.startNanos;
+        if (!stack.isEmpty()) {
+            stack.peek().dependencyNanos += totalNanos;
+        }
+        beans.put(beanName, new BeanInitTime(beanName, finished.type, sinceJvmStart(),
+                toMillis(totalNanos), toMillis(totalNanos - finished.dependencyNanos)));
+        return bean;
+    }
+
+    @Override
+    public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+        return WebServerInitializedEvent.class.isAssignableFrom(eventType)
+                || ApplicationReadyEvent.class.isAssignableFrom(eventType)
+                || ServletRequestHandledEvent.class.isAssignableFrom(eventType);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof ServletRequestHandledEvent) {
+            if (firstRequestMillis == null) {
+                firstRequestMillis = sinceJvmStart();
+            }
+        } else if (event instanceof WebServerInitializedEvent) {
+            webServerStartedMillis = sinceJvmStart();
+        } else if (event instanceof ApplicationReadyEvent && readyMillis == null) {
+            readyMillis = sinceJvmStart();
+            log.info("Ready {} ms after JVM start ({} beans); slowest: {}", readyMillis, beans.size(),
+                    slowestBeans().stream().limit(LOGGED_BEANS)
+                            .map(bean -> bean.getName() + " " + bean.getSelfMillis() + " ms")
+                            .collect(Collectors.joining(", ")));
+        }
+    }
+
+    public StartupReport report() {
+        return new StartupReport(jvmStartMillis, contextStartedMillis, webServerStartedMillis, readyMillis,
+                firstRequestMillis, slowestBeans());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private List<BeanInitTime> slowestBeans() {
+        List<BeanInitTime> sorted = new ArrayList<>(beans.values());
+        sorted.sort(Comparator.comparingDouble(BeanInitTime::getSelfMillis).reversed());
+        return sorted;
+    }
+
+    private long sinceJvmStart() {
+        return System.currentTimeMillis() - jvmStartMillis;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 100) / 100.0;
+    }
+
+    private static class BeanInProgress {
+        private final String name;
+        private final String type;
+        private final long startNanos;
+        private long dependencyNanos;
+
+        private BeanInProgress(String name, String type, long startNanos) {
+            this.name = name;
+            this.type = type;
+            this.startNanos = startNanos;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BeanInitTime {
+        private final String name;
+        private final String type;
+        private final long createdAtMillis;
+        private final double totalMillis;
+        private final double selfMillis;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class StartupReport {
+        private final long jvmStartTime;
+        private final long contextStartedMillis;
+        private final Long webServerStartedMillis;
+        private final Long readyMillis;
+        private final Long firstRequestMillis;
+        private final List<BeanInitTime> beans;
+    }
+}
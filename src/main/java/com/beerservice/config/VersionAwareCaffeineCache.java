@@ -0,0 +1,86 @@
+package com.beerservice.config;
+
+import com.beerservice.web.model.BeerDto;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Caffeine cache that never replaces a {@link BeerDto} with an older version of the same beer, so a read that
+ * raced a write cannot put the stale copy back after the write has refreshed the entry.
+ *
+ * <p>Beers are copied on the way in and out, so callers may change what they were given without touching
+ * the cached entry.
+ *
+ * <p>A key the beer no longer lives under, such as a UPC it has changed away from, is {@linkplain #retired
+ * retired} rather than evicted: the entry reads as absent but still turns away that beer's older versions.
+ */
+public class VersionAwareCaffeineCache extends CaffeineCache {
+
+    public VersionAwareCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                     boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    /**
+     * Value to put under a key that {@code beer} has moved away from.
+     */
+    public static Object retired(BeerDto beer) {
+        return new Retired(beer.getId(), beer.getVersion());
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        return value instanceof Retired ? null : value;
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return super.toStoreValue(copy(userValue));
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return copy(super.fromStoreValue(storeValue));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        getNativeCache().asMap().merge(key, toStoreValue(value),
+                (cached, fresh) -> isOlder(fresh, cached) ? cached : fresh);
+    }
+
+    private static Object copy(Object value) {
+        return value instanceof BeerDto ? ((BeerDto) value).toBuilder().build() : value;
+    }
+
+    private static boolean isOlder(Object fresh, Object cached) {
+        if (fresh instanceof BeerDto) {
+            BeerDto beer = (BeerDto) fresh;
+            if (cached instanceof BeerDto) {
+                return isOlder(beer, ((BeerDto) cached).getId(), ((BeerDto) cached).getVersion());
+            }
+            if (cached instanceof Retired) {
+                return isOlder(beer, ((Retired) cached).id, ((Retired) cached).version);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOlder(BeerDto fresh, UUID cachedId, Integer cachedVersion) {
+        return Objects.equals(fresh.getId(), cachedId)
+                && fresh.getVersion() != null && cachedVersion != null && fresh.getVersion() < cachedVersion;
+    }
+
+    private static final class Retired {
+        private final UUID id;
+        private final Integer version;
+
+        private Retired(UUID id, Integer version) {
+            this.id = id;
+            this.version = version;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.beerservice.domain;
 
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,12 +18,19 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Entity
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "ix_beer_created_date_id", columnList = "createdDate, id"),
+        @Index(name = "ix_beer_name_created_date_id", columnList = "beerName, createdDate, id"),
+        @Index(name = "ix_beer_style_created_date_id", columnList = "beerStyle, createdDate, id"),
+        @Index(name = "ix_beer_last_modified_date", columnList = "lastModifiedDate")
+})
 public class Beer {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
-    @Column(length = 36, columnDefinition = "varchar", updatable = false, nullable = false)
+    @GeneratedValue(generator = "time-ordered-uuid")
+    @GenericGenerator(name = "time-ordered-uuid", strategy = "com.beerservice.domain.TimeOrderedUuidGenerator")
+    @Column(length = 16, columnDefinition = "binary(16)", updatable = false, nullable = false)
     private UUID id;
 
     @Version
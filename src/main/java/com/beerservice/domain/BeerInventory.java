@@ -0,0 +1,32 @@
+package com.beerservice.domain;
+
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Last persisted quantity on hand of a beer. The live value is kept in memory and written here behind it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class BeerInventory {
+
+    @Id
+    @Column(length = 16, columnDefinition = "binary(16)", updatable = false, nullable = false)
+    private UUID beerId;
+
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Timestamp lastModifiedDate;
+
+    private Integer quantityOnHand;
+}
@@ -0,0 +1,45 @@
+package com.beerservice.domain;
+
+import com.beerservice.events.BeerChangeType;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * A beer change written in the same transaction as the change itself and deleted once it has been published.
+ * Writes to one beer are serialised by its row lock, and the id is drawn from the sequence while the lock is held,
+ * so ids follow commit order for that beer. That holds across instances only because each id is its own
+ * {@code nextval}: with ids handed out in blocks, an instance could commit a later change under a lower id.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class BeerOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "beer_outbox_seq")
+    @SequenceGenerator(name = "beer_outbox_seq", sequenceName = "beer_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(length = 16, columnDefinition = "binary(16)", updatable = false, nullable = false)
+    private UUID beerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private BeerChangeType changeType;
+
+    private Long beerVersion;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Timestamp createdDate;
+
+    @Column(length = 4000, nullable = false)
+    private String payload;
+}
@@ -0,0 +1,42 @@
+package com.beerservice.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates UUIDv7-style ids: 48 bits of Unix milliseconds, the version, a 12-bit sequence that keeps ids from
+ * one JVM increasing within a millisecond, the variant and 62 random bits. New rows therefore land at the right
+ * edge of the primary key index instead of at random pages. The random part keeps ids unguessable.
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // milliseconds << 12 | sequence of the last id handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return next();
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long timeAndSequence = LAST.updateAndGet(last -> Math.max(now, last + 1));
+        return of(timeAndSequence >>> 12, (int) (timeAndSequence & 0xFFF), RANDOM.nextLong());
+    }
+
+    /**
+     * The id for {@code unixMillis}, with {@code sequence} (12 bits) and {@code random} (62 bits) filled in as
+     * given; used where ids must be reproducible.
+     */
+    public static UUID of(long unixMillis, int sequence, long random) {
+        long mostSignificantBits = (unixMillis & 0xFFFFFFFFFFFFL) << 16 | 0x7000L | (sequence & 0xFFF);
+        long leastSignificantBits = random & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,35 @@
+package com.beerservice.events;
+
+import com.beerservice.web.model.BeerDto;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A committed change to a beer. Delivery is at least once: {@code sequence} identifies the event, and for one
+ * beer it grows in the order the changes were made. {@code beer} holds the beer as it stood after the change.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerChangeEvent {
+
+    private long sequence;
+
+    private UUID beerId;
+
+    private BeerChangeType changeType;
+
+    private Long beerVersion;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSZ", shape = JsonFormat.Shape.STRING)
+    private OffsetDateTime occurredAt;
+
+    private BeerDto beer;
+}
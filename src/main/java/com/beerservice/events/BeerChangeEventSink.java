@@ -0,0 +1,12 @@
+package com.beerservice.events;
+
+import java.util.List;
+
+/**
+ * Destination for beer change events. A batch that throws is offered again, from its first event, on the
+ * next publishing round.
+ */
+public interface BeerChangeEventSink {
+
+    void publish(List<BeerChangeEvent> events);
+}
@@ -0,0 +1,5 @@
+package com.beerservice.events;
+
+public enum BeerChangeType {
+    CREATED, UPDATED
+}
@@ -0,0 +1,29 @@
+package com.beerservice.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Asks for {@code quantityToBrew} more of a beer. {@code scanId} plus {@code beerId} identify the request,
+ * so a consumer can drop a redelivered event.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BrewBeerEvent {
+
+    private long scanId;
+
+    private UUID beerId;
+
+    private int quantityOnHand;
+
+    private int minOnHand;
+
+    private int quantityToBrew;
+}
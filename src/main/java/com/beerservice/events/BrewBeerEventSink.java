@@ -0,0 +1,11 @@
+package com.beerservice.events;
+
+import java.util.List;
+
+/**
+ * Destination for brewing requests; a broker-backed sink replaces the in-memory one in deployments.
+ */
+public interface BrewBeerEventSink {
+
+    void publish(List<BrewBeerEvent> events);
+}
@@ -0,0 +1,49 @@
+package com.beerservice.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends beer change events to a file as JSON lines. Each batch is forced to disk before it is acknowledged,
+ * so a crash can repeat events in the file but never lose acknowledged ones.
+ */
+@ConditionalOnProperty(value = "beer.outbox.sink", havingValue = "file")
+@Component
+public class FileBeerChangeEventSink implements BeerChangeEventSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileBeerChangeEventSink(@Value("${beer.outbox.file:beer-changes.jsonl}") Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<BeerChangeEvent> events) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1));
+            for (BeerChangeEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+            writer.flush();
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append beer change events to " + file, e);
+        }
+    }
+}
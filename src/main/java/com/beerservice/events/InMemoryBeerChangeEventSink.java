@@ -0,0 +1,41 @@
+package com.beerservice.events;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent beer change events in memory, dropping the oldest beyond its capacity.
+ */
+@ConditionalOnProperty(value = "beer.outbox.sink", havingValue = "memory", matchIfMissing = true)
+@Component
+public class InMemoryBeerChangeEventSink implements BeerChangeEventSink {
+
+    private final Deque<BeerChangeEvent> events = new ArrayDeque<>();
+    private final int capacity;
+
+    public InMemoryBeerChangeEventSink(@Value("${beer.outbox.in-memory-sink-capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<BeerChangeEvent> batch) {
+        for (BeerChangeEvent event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<BeerChangeEvent> drain() {
+        List<BeerChangeEvent> drained = new ArrayList<>(events);
+        events.clear();
+        return drained;
+    }
+}
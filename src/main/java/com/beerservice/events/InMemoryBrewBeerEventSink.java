@@ -0,0 +1,39 @@
+package com.beerservice.events;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent brewing requests in memory, dropping the oldest beyond its capacity.
+ */
+@Component
+public class InMemoryBrewBeerEventSink implements BrewBeerEventSink {
+
+    private final Deque<BrewBeerEvent> events = new ArrayDeque<>();
+    private final int capacity;
+
+    public InMemoryBrewBeerEventSink(@Value("${beer.brewing.in-memory-sink-capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<BrewBeerEvent> batch) {
+        for (BrewBeerEvent event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<BrewBeerEvent> drain() {
+        List<BrewBeerEvent> drained = new ArrayList<>(events);
+        events.clear();
+        return drained;
+    }
+}
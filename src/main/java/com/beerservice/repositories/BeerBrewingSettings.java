@@ -0,0 +1,12 @@
+package com.beerservice.repositories;
+
+import java.util.UUID;
+
+public interface BeerBrewingSettings {
+
+    UUID getId();
+
+    Integer getMinOnHand();
+
+    Integer getQuantityToBrew();
+}
@@ -0,0 +1,27 @@
+package com.beerservice.repositories;
+
+import com.beerservice.domain.BeerInventory;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.CrudRepository;
+
+import javax.persistence.QueryHint;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface BeerInventoryRepository extends CrudRepository<BeerInventory, UUID> {
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select i from BeerInventory i")
+    Stream<BeerInventory> streamAll();
+
+    @Modifying
+    @Query("update BeerInventory i set i.quantityOnHand = i.quantityOnHand + :delta, i.version = i.version + 1,"
+            + " i.lastModifiedDate = current_timestamp where i.beerId = :beerId")
+    int addQuantity(@Param("beerId") UUID beerId, @Param("delta") int delta);
+}
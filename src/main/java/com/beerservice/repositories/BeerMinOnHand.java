@@ -0,0 +1,10 @@
+package com.beerservice.repositories;
+
+import java.util.UUID;
+
+public interface BeerMinOnHand {
+
+    UUID getId();
+
+    Integer getMinOnHand();
+}
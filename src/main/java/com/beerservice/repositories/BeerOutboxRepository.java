@@ -0,0 +1,20 @@
+package com.beerservice.repositories;
+
+import com.beerservice.domain.BeerOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BeerOutboxRepository extends JpaRepository<BeerOutboxEvent, Long> {
+
+    List<BeerOutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+
+    @Modifying
+    @Query("delete from BeerOutboxEvent e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
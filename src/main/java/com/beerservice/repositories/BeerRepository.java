@@ -1,10 +1,66 @@
 package com.beerservice.repositories;
 
 import com.beerservice.domain.Beer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface BeerRepository extends PagingAndSortingRepository<Beer, UUID>{
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
+public interface BeerRepository extends PagingAndSortingRepository<Beer, UUID>, BeerRepositoryCustom {
+
+    Page<Beer> findAllByBeerName(String beerName, Pageable pageable);
+
+    Page<Beer> findAllByBeerStyle(String beerStyle, Pageable pageable);
+
+    Page<Beer> findAllByBeerNameAndBeerStyle(String beerName, String beerStyle, Pageable pageable);
+
+    Optional<Beer> findByUpc(String upc);
+
+    List<Beer> findAllByUpcIn(Collection<String> upcs);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Beer b where b.id = :id")
+    Optional<Beer> findByIdForUpdate(@Param("id") UUID id);
+
+    @Query("select coalesce(b.minOnHand, 0) from Beer b where b.id = :id")
+    Optional<Integer> findMinOnHandById(@Param("id") UUID id);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select b.id as id, b.minOnHand as minOnHand from Beer b where b.minOnHand > 0")
+    Stream<BeerMinOnHand> streamAllWithMinOnHand();
+
+    @Query("select b.id as id, b.minOnHand as minOnHand, b.quantityToBrew as quantityToBrew from Beer b"
+            + " where b.minOnHand > 0 and b.id > :afterId order by b.id")
+    List<BeerBrewingSettings> findBrewingSettingsAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select b from Beer b")
+    Stream<Beer> streamAll();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select b.id as id, b.version as version, b.beerStyle as beerStyle, b.price as price from Beer b")
+    Stream<BeerStylePrice> streamAllStylesAndPrices();
+
+    @Query("select b.beerStyle as beerStyle, count(b) as beerCount, count(b.price) as pricedCount,"
+            + " min(b.price) as minPrice, max(b.price) as maxPrice, sum(b.price) as priceTotal"
+            + " from Beer b group by b.beerStyle")
+    List<BeerStyleSummary> summarizeByStyle();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<Beer> streamAllByLastModifiedDateAfterOrderByLastModifiedDate(Timestamp lastModifiedDate);
 }
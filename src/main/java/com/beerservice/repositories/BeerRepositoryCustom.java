@@ -0,0 +1,23 @@
+package com.beerservice.repositories;
+
+import com.beerservice.domain.Beer;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+public interface BeerRepositoryCustom {
+
+    /**
+     * Keyset (seek) page ordered by (createdDate, id). Returns up to {@code limit} beers strictly after the given
+     * position, or from the start when {@code afterCreatedDate} is null. Null filters are left out of the query.
+     */
+    List<Beer> findPageAfter(String beerName, String beerStyle, Timestamp afterCreatedDate, UUID afterId, int limit);
+
+    /**
+     * Writes the non-null editable columns of {@code values} to the beer with {@code id} and bumps its version in
+     * a single UPDATE, without loading the row first; null columns are left out of the statement. A non-null
+     * {@code expectedVersion} restricts the update to that version. Returns the number of rows updated.
+     */
+    int updateIfVersion(UUID id, Long expectedVersion, Beer values);
+}
@@ -0,0 +1,88 @@
+package com.beerservice.repositories;
+
+import com.beerservice.domain.Beer;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class BeerRepositoryImpl implements BeerRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Beer> findPageAfter(String beerName, String beerStyle, Timestamp afterCreatedDate, UUID afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Beer> query = cb.createQuery(Beer.class);
+        Root<Beer> beer = query.from(Beer.class);
+
+        List<Predicate> predicates = new ArrayList<>(3);
+        if (beerName != null) {
+            predicates.add(cb.equal(beer.get("beerName"), beerName));
+        }
+        if (beerStyle != null) {
+            predicates.add(cb.equal(beer.get("beerStyle"), beerStyle));
+        }
+        if (afterCreatedDate != null) {
+            predicates.add(cb.or(
+                    cb.greaterThan(beer.<Timestamp>get("createdDate"), afterCreatedDate),
+                    cb.and(
+                            cb.equal(beer.get("createdDate"), afterCreatedDate),
+                            cb.greaterThan(beer.<UUID>get("id"), afterId))));
+        }
+
+        query.select(beer)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(beer.get("createdDate")), cb.asc(beer.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Transactional
+    @Override
+    public int updateIfVersion(UUID id, Long expectedVersion, Beer values) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Beer> update = cb.createCriteriaUpdate(Beer.class);
+        Root<Beer> beer = update.from(Beer.class);
+
+        Predicate matches = cb.equal(beer.get("id"), id);
+        if (expectedVersion != null) {
+            matches = cb.and(matches, cb.equal(beer.get("version"), expectedVersion));
+        }
+
+        if (values.getBeerName() != null) {
+            update.set(beer.<String>get("beerName"), values.getBeerName());
+        }
+        if (values.getBeerStyle() != null) {
+            update.set(beer.<String>get("beerStyle"), values.getBeerStyle());
+        }
+        // left out unless supplied, so a price change does not touch the unique UPC index
+        if (values.getUpc() != null) {
+            update.set(beer.<String>get("upc"), values.getUpc());
+        }
+        if (values.getPrice() != null) {
+            update.set(beer.<BigDecimal>get("price"), values.getPrice());
+        }
+        if (values.getMinOnHand() != null) {
+            update.set(beer.<Integer>get("minOnHand"), values.getMinOnHand());
+        }
+        update.set(beer.<Timestamp>get("lastModifiedDate"), values.getLastModifiedDate())
+                .set(beer.<Long>get("version"), cb.sum(beer.<Long>get("version"), 1L))
+                .where(matches);
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -0,0 +1,15 @@
+package com.beerservice.repositories;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface BeerStylePrice {
+
+    UUID getId();
+
+    Long getVersion();
+
+    String getBeerStyle();
+
+    BigDecimal getPrice();
+}
@@ -0,0 +1,18 @@
+package com.beerservice.repositories;
+
+import java.math.BigDecimal;
+
+public interface BeerStyleSummary {
+
+    String getBeerStyle();
+
+    Long getBeerCount();
+
+    Long getPricedCount();
+
+    BigDecimal getMinPrice();
+
+    BigDecimal getMaxPrice();
+
+    BigDecimal getPriceTotal();
+}
@@ -0,0 +1,104 @@
+package com.beerservice.repositories;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the connections taken from the {@code DataSource} at the connection pool size. A permit is taken when a
+ * connection is, so a transaction holds one from its start to its end, and a repository call outside a transaction
+ * for as long as its own connection. Callers beyond the limit park on a fair semaphore, which is cheap for virtual
+ * threads, instead of piling up inside Hikari, and give up after the same connection timeout. A thread that already
+ * holds a connection, such as one starting a {@code REQUIRES_NEW} transaction, passes straight through: parking it
+ * behind callers that wait for its own permit would deadlock. With read replicas the cap covers all pools together.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(value = "beer.db-guard.enabled", havingValue = "true", matchIfMissing = true)
+@Component
+public class DatabaseConcurrencyGuard {
+
+    private final ThreadLocal<AtomicInteger> held = ThreadLocal.withInitial(AtomicInteger::new);
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    private final Timer waitTimer;
+
+    public DatabaseConcurrencyGuard(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxPermits,
+                                    @Value("${spring.datasource.hikari.connection-timeout:30000}") long timeoutMillis,
+                                    MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxPermits, true);
+        this.timeoutMillis = timeoutMillis;
+        this.waitTimer = Timer.builder("beer.db.permit.wait")
+                .description("Time spent queueing for a database permit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        meterRegistry.gauge("beer.db.permits.in.use", permits, p -> maxPermits - p.availablePermits());
+        meterRegistry.gauge("beer.db.permits.queued", permits, Semaphore::getQueueLength);
+        meterRegistry.gauge("beer.db.permits.saturation", permits,
+                p -> (maxPermits - p.availablePermits()) / (double) maxPermits);
+    }
+
+    @Around("this(javax.sql.DataSource) && execution(java.sql.Connection getConnection(..))")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        AtomicInteger holding = held.get();
+        if (holding.get() > 0) {
+            return joinPoint.proceed();
+        }
+
+        long start = System.nanoTime();
+        boolean acquired = permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            throw new SQLTransientConnectionException("No database permit available after " + timeoutMillis + "ms");
+        }
+        holding.incrementAndGet();
+        try {
+            return releasingOnClose((Connection) joinPoint.proceed(), holding);
+        } catch (Throwable e) {
+            holding.decrementAndGet();
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection, AtomicInteger holding) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                ClassUtils.getAllInterfaces(connection), (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        // held by the thread that took the connection, even if another one closes it
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            holding.decrementAndGet();
+                            permits.release();
+                        }
+                    }
+                });
+    }
+}
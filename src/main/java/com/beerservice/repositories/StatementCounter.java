@@ -0,0 +1,25 @@
+package com.beerservice.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Batched inserts and updates share one
+ * prepared statement, so a batch counts once; a growing count per request is what an N+1 looks like.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Statements prepared on this thread so far; callers measure a unit of work as the difference of two reads.
+     */
+    public static int current() {
+        return COUNT.get()[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+}
@@ -0,0 +1,150 @@
+package com.beerservice.services;
+
+import com.beerservice.domain.Beer;
+import com.beerservice.events.BeerChangeType;
+import com.beerservice.repositories.BeerRepository;
+import com.beerservice.web.mappers.BeerMapper;
+import com.beerservice.web.model.BeerBulkResult;
+import com.beerservice.web.model.BeerBulkStatus;
+import com.beerservice.web.model.BeerDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes bulk upserts in chunks, one transaction per chunk, so Hibernate can batch the statements
+ * (see hibernate.jdbc.batch_size). A chunk that hits the unique UPC constraint is replayed item by item
+ * to pin the conflict on the offending beers.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+class BeerBulkWriter {
+
+    private final BeerRepository beerRepository;
+    private final BeerMapper beerMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final BeerOutbox beerOutbox;
+
+    @Value("${beer.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    List<BeerBulkResult> write(List<BeerDto> beerDtos) {
+        BeerBulkResult[] results = new BeerBulkResult[beerDtos.size()];
+        Set<String> seenUpcs = new HashSet<>();
+        List<Integer> chunk = new ArrayList<>(chunkSize);
+
+        for (int i = 0; i < beerDtos.size(); i++) {
+            BeerDto beerDto = beerDtos.get(i);
+            List<String> errors = validate(beerDto);
+            if (!errors.isEmpty()) {
+                results[i] = failure(i, beerDto, BeerBulkStatus.INVALID, errors);
+            } else if (!seenUpcs.add(beerDto.getUpc())) {
+                results[i] = failure(i, beerDto, BeerBulkStatus.CONFLICT,
+                        Collections.singletonList("Duplicate UPC in request"));
+            } else {
+                chunk.add(i);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(beerDtos, chunk, results);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(beerDtos, chunk, results);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private void writeChunk(List<BeerDto> beerDtos, List<Integer> indexes, BeerBulkResult[] results) {
+        try {
+            upsert(beerDtos, indexes, results);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Bulk chunk of {} beers violated a constraint, retrying one by one", indexes.size());
+            for (Integer index : indexes) {
+                try {
+                    upsert(beerDtos, Collections.singletonList(index), results);
+                } catch (DataIntegrityViolationException conflict) {
+                    results[index] = failure(index, beerDtos.get(index), BeerBulkStatus.CONFLICT,
+                            Collections.singletonList("UPC already in use"));
+                }
+            }
+        }
+    }
+
+    private void upsert(List<BeerDto> beerDtos, List<Integer> indexes, BeerBulkResult[] results) {
+        List<Beer> beers = new ArrayList<>(indexes.size());
+        boolean[] created = new boolean[indexes.size()];
+
+        transactionTemplate.execute(status -> {
+            Set<String> upcs = indexes.stream().map(i -> beerDtos.get(i).getUpc()).collect(Collectors.toSet());
+            Map<String, Beer> existing = beerRepository.findAllByUpcIn(upcs).stream()
+                    .collect(Collectors.toMap(Beer::getUpc, Function.identity()));
+
+            for (int i = 0; i < indexes.size(); i++) {
+                BeerDto beerDto = beerDtos.get(indexes.get(i));
+                Beer beer = existing.get(beerDto.getUpc());
+                if (beer == null) {
+                    beer = beerMapper.beerDtoToBeer(beerDto);
+                    created[i] = true;
+                } else {
+                    beerMapper.updateBeerFromDto(beerDto, beer);
+                }
+                beers.add(beer);
+            }
+            beerRepository.saveAll(beers);
+            List<BeerChangeType> changeTypes = new ArrayList<>(beers.size());
+            for (boolean isNew : created) {
+                changeTypes.add(isNew ? BeerChangeType.CREATED : BeerChangeType.UPDATED);
+            }
+            beerOutbox.recordAll(changeTypes, beers);
+            return null;
+        });
+
+        // results are built once the transaction has committed
+        for (int i = 0; i < indexes.size(); i++) {
+            Beer beer = beers.get(i);
+            int index = indexes.get(i);
+            results[index] = BeerBulkResult.builder()
+                    .index(index)
+                    .upc(beer.getUpc())
+                    .status(created[i] ? BeerBulkStatus.CREATED : BeerBulkStatus.UPDATED)
+                    .id(beer.getId())
+                    .version(beer.getVersion().intValue())
+                    .build();
+        }
+    }
+
+    private List<String> validate(BeerDto beerDto) {
+        Set<ConstraintViolation<BeerDto>> violations = validator.validate(beerDto);
+        List<String> errors = new ArrayList<>(violations.size());
+        violations.forEach(violation -> errors.add(violation.getPropertyPath() + " " + violation.getMessage()));
+        return errors;
+    }
+
+    private static BeerBulkResult failure(int index, BeerDto beerDto, BeerBulkStatus status, List<String> errors) {
+        return BeerBulkResult.builder()
+                .index(index)
+                .upc(beerDto.getUpc())
+                .status(status)
+                .errors(errors)
+                .build();
+    }
+}
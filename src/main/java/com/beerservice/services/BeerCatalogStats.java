@@ -0,0 +1,225 @@
+package com.beerservice.services;
+
+import com.beerservice.repositories.BeerStyleSummary;
+import com.beerservice.web.model.BeerCatalogStatsDto;
+import com.beerservice.web.model.BeerStyleStatsDto;
+import com.beerservice.web.model.BeerStyleEnum;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Per-style beer counts, prices and restock counts, kept current one beer at a time. Each beer's style, price
+ * and restock flag are remembered, so a change takes the old values out of their style's totals and puts the
+ * new ones in. Prices are counted in a sorted multiset per style, which keeps the minimum and maximum right
+ * when the cheapest or dearest beer is repriced.
+ *
+ * <p>All methods synchronise on the instance. Changes carrying an older version than the one held are
+ * ignored, and the assembled statistics are kept until the next change, so reading them costs the same
+ * whatever the size of the catalog.
+ */
+class BeerCatalogStats {
+
+    private final Map<UUID, Tracked> beers = new HashMap<>();
+    private final Map<BeerStyleEnum, StyleTotals> styles = new EnumMap<>(BeerStyleEnum.class);
+    private long catalogChanges;
+    private BeerCatalogStatsDto snapshot;
+
+    BeerCatalogStats() {
+        for (BeerStyleEnum style : BeerStyleEnum.values()) {
+            styles.put(style, new StyleTotals());
+        }
+    }
+
+    /**
+     * Applies a committed change. A null style or price means the change did not write that column. Returns
+     * false when the change was stale.
+     */
+    synchronized boolean apply(UUID beerId, Long version, BeerStyleEnum beerStyle, BigDecimal price) {
+        Tracked beer = beers.get(beerId);
+        if (beer != null && beer.version != null && version != null && version <= beer.version) {
+            return false;
+        }
+        beer = beer != null ? beer : new Tracked();
+        remove(beer);
+        beer.version = version;
+        beer.beerStyle = beerStyle != null ? beerStyle : beer.beerStyle;
+        beer.price = price != null ? price : beer.price;
+        changed(beerId, beer);
+        return true;
+    }
+
+    /**
+     * Applies a row read from the database, which replaces what is held unless a newer change has been applied
+     * meanwhile.
+     */
+    synchronized void load(UUID beerId, Long version, BeerStyleEnum beerStyle, BigDecimal price) {
+        Tracked beer = beers.get(beerId);
+        if (beer != null && beer.version != null && version != null && version < beer.version) {
+            if (beer.beerStyle == null) {
+                // a change applied before the beer was loaded may not have carried its style
+                remove(beer);
+                beer.beerStyle = beerStyle;
+                changed(beerId, beer);
+            }
+            return;
+        }
+        beer = beer != null ? beer : new Tracked();
+        remove(beer);
+        beer.version = version;
+        beer.beerStyle = beerStyle;
+        beer.price = price;
+        changed(beerId, beer);
+    }
+
+    /**
+     * Drops beers that were neither in {@code present} nor changed after {@code sinceChange}.
+     */
+    synchronized void retainAll(Set<UUID> present, long sinceChange) {
+        for (Iterator<Map.Entry<UUID, Tracked>> entries = beers.entrySet().iterator(); entries.hasNext(); ) {
+            Map.Entry<UUID, Tracked> entry = entries.next();
+            Tracked beer = entry.getValue();
+            if (beer.beerStyle != null && beer.lastChange <= sinceChange && !present.contains(entry.getKey())) {
+                remove(beer);
+                entries.remove();
+                snapshot = null;
+            }
+        }
+    }
+
+    synchronized void setRestockNeeded(UUID beerId, boolean restockNeeded) {
+        Tracked beer = beers.computeIfAbsent(beerId, id -> new Tracked());
+        if (beer.restockNeeded != restockNeeded) {
+            remove(beer);
+            beer.restockNeeded = restockNeeded;
+            add(beer);
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Counts applied and loaded changes to styles and prices, so a caller can tell whether any happened while
+     * it was reading the database.
+     */
+    synchronized long catalogChanges() {
+        return catalogChanges;
+    }
+
+    synchronized int size() {
+        return beers.size();
+    }
+
+    /**
+     * Returns the styles whose count or prices differ from the {@code persisted} summaries.
+     */
+    synchronized List<BeerStyleEnum> differences(Map<BeerStyleEnum, BeerStyleSummary> persisted) {
+        List<BeerStyleEnum> drifted = new ArrayList<>();
+        styles.forEach((style, totals) -> {
+            BeerStyleSummary expected = persisted.get(style);
+            if (expected == null ? totals.beerCount != 0
+                    : totals.beerCount != expected.getBeerCount()
+                    || !sameAmount(totals.minPrice(), expected.getMinPrice())
+                    || !sameAmount(totals.maxPrice(), expected.getMaxPrice())
+                    || !sameAmount(totals.pricedCount == 0 ? null : totals.priceTotal, expected.getPriceTotal())) {
+                drifted.add(style);
+            }
+        });
+        return drifted;
+    }
+
+    synchronized BeerCatalogStatsDto snapshot() {
+        if (snapshot == null) {
+            long beerCount = 0;
+            long restockNeeded = 0;
+            List<BeerStyleStatsDto> styleStats = new ArrayList<>(styles.size());
+            for (Map.Entry<BeerStyleEnum, StyleTotals> entry : styles.entrySet()) {
+                StyleTotals totals = entry.getValue();
+                beerCount += totals.beerCount;
+                restockNeeded += totals.restockNeeded;
+                styleStats.add(BeerStyleStatsDto.builder()
+                        .beerStyle(entry.getKey())
+                        .beerCount(totals.beerCount)
+                        .minPrice(totals.minPrice())
+                        .avgPrice(totals.pricedCount == 0 ? null : totals.priceTotal.divide(
+                                BigDecimal.valueOf(totals.pricedCount), 2, RoundingMode.HALF_UP))
+                        .maxPrice(totals.maxPrice())
+                        .restockNeeded(totals.restockNeeded)
+                        .build());
+            }
+            snapshot = BeerCatalogStatsDto.builder()
+                    .beerCount(beerCount)
+                    .restockNeeded(restockNeeded)
+                    .styles(styleStats)
+                    .build();
+        }
+        return snapshot;
+    }
+
+    private void changed(UUID beerId, Tracked beer) {
+        beer.lastChange = ++catalogChanges;
+        beers.put(beerId, beer);
+        add(beer);
+        snapshot = null;
+    }
+
+    private void add(Tracked beer) {
+        if (beer.beerStyle != null) {
+            styles.get(beer.beerStyle).add(beer, 1);
+        }
+    }
+
+    private void remove(Tracked beer) {
+        if (beer.beerStyle != null) {
+            styles.get(beer.beerStyle).add(beer, -1);
+        }
+    }
+
+    private static boolean sameAmount(BigDecimal held, BigDecimal persisted) {
+        return held == null ? persisted == null : persisted != null && held.compareTo(persisted) == 0;
+    }
+
+    private static final class Tracked {
+        Long version;
+        BeerStyleEnum beerStyle;
+        BigDecimal price;
+        boolean restockNeeded;
+        long lastChange;
+    }
+
+    private static final class StyleTotals {
+        long beerCount;
+        long pricedCount;
+        BigDecimal priceTotal = BigDecimal.ZERO;
+        final TreeMap<BigDecimal, Integer> prices = new TreeMap<>();
+        long restockNeeded;
+
+        void add(Tracked beer, int sign) {
+            beerCount += sign;
+            if (beer.restockNeeded) {
+                restockNeeded += sign;
+            }
+            if (beer.price != null) {
+                pricedCount += sign;
+                priceTotal = sign > 0 ? priceTotal.add(beer.price) : priceTotal.subtract(beer.price);
+                prices.merge(beer.price, sign, (count, delta) -> count + delta == 0 ? null : count + delta);
+            }
+        }
+
+        BigDecimal minPrice() {
+            return prices.isEmpty() ? null : prices.firstKey();
+        }
+
+        BigDecimal maxPrice() {
+            return prices.isEmpty() ? null : prices.lastKey();
+        }
+    }
+}
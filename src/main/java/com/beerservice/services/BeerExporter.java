@@ -0,0 +1,145 @@
+package com.beerservice.services;
+
+import com.beerservice.domain.Beer;
+import com.beerservice.repositories.BeerRepository;
+import com.beerservice.web.mappers.BeerMapper;
+import com.beerservice.web.mappers.DateMapper;
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams beers straight from a scrolling query to the output, detaching every row once written so the
+ * persistence context stays empty and memory use does not grow with the catalog.
+ */
+@RequiredArgsConstructor
+@Component
+class BeerExporter {
+
+    private static final String CSV_HEADER = "id,version,createdDate,lastModifiedDate,beerName,beerStyle,upc,price";
+
+    private final BeerRepository beerRepository;
+    private final BeerMapper beerMapper;
+    private final DateMapper dateMapper;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    void export(OffsetDateTime updatedSince, BeerExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<Beer> beers = updatedSince == null
+                ? beerRepository.streamAll()
+                : beerRepository.streamAllByLastModifiedDateAfterOrderByLastModifiedDate(dateMapper.asTimeStamp(updatedSince))) {
+
+            RowWriter rowWriter = format == BeerExportFormat.CSV
+                    ? new CsvRowWriter(outputStream)
+                    : new NdjsonRowWriter(outputStream, objectMapper);
+
+            Iterator<Beer> iterator = beers.iterator();
+            while (iterator.hasNext()) {
+                Beer beer = iterator.next();
+                rowWriter.write(beerMapper.beerToBeerDto(beer));
+                entityManager.detach(beer);
+            }
+            rowWriter.flush();
+        }
+    }
+
+    private interface RowWriter {
+
+        void write(BeerDto beerDto) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter writer;
+
+        NdjsonRowWriter(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+            this.writer = objectMapper.writerFor(BeerDto.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void write(BeerDto beerDto) throws IOException {
+            writer.writeValue(generator, beerDto);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(BeerDto beerDto) throws IOException {
+            writer.write(String.valueOf(beerDto.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(beerDto.getVersion()));
+            writer.write(',');
+            writer.write(String.valueOf(beerDto.getCreatedDate()));
+            writer.write(',');
+            writer.write(String.valueOf(beerDto.getLastModifiedDate()));
+            writer.write(',');
+            writeQuoted(beerDto.getBeerName());
+            writer.write(',');
+            writer.write(String.valueOf(beerDto.getBeerStyle()));
+            writer.write(',');
+            writeQuoted(beerDto.getUpc());
+            writer.write(',');
+            writer.write(beerDto.getPrice() == null ? "" : beerDto.getPrice().toPlainString());
+            writer.write('\n');
+        }
+
+        private void writeQuoted(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                writer.write(value);
+            } else {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.beerservice.services;
+
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerInventoryDto;
+import com.beerservice.web.model.BeerPagedList;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Quantity on hand per beer, served from memory. Adjustments take effect immediately and reach the database
+ * asynchronously, so a crash can lose the adjustments of the last flush interval.
+ */
+public interface BeerInventoryService {
+
+    BeerInventoryDto adjustInventory(UUID beerId, int quantityDelta);
+
+    BeerInventoryDto getInventory(UUID beerId);
+
+    int getQuantityOnHand(UUID beerId);
+
+    /**
+     * Returns a copy of {@code beerDto} with {@code quantityOnHand} filled in; the argument may be a cached
+     * instance and is left untouched.
+     */
+    BeerDto withQuantityOnHand(BeerDto beerDto);
+
+    /**
+     * Returns a copy of the page with {@code quantityOnHand} filled in; the argument may be shared by coalesced
+     * requests and is left untouched.
+     */
+    BeerPagedList withQuantityOnHand(BeerPagedList beerPagedList);
+
+    List<BeerInventoryDto> listBelowMinOnHand();
+}
@@ -0,0 +1,275 @@
+package com.beerservice.services;
+
+import com.beerservice.domain.BeerInventory;
+import com.beerservice.events.BeerChangeEvent;
+import com.beerservice.events.BeerChangeType;
+import com.beerservice.repositories.BeerInventoryRepository;
+import com.beerservice.repositories.BeerMinOnHand;
+import com.beerservice.repositories.BeerRepository;
+import com.beerservice.web.controller.exception.BadRequestException;
+import com.beerservice.web.controller.exception.NotFoundException;
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerInventoryDto;
+import com.beerservice.web.model.BeerPagedList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one entry per beer that has inventory or a minimum. Every change to an entry goes through
+ * {@link ConcurrentHashMap#compute}, which serialises writers of the same beer on its bin lock while
+ * other beers and all readers proceed, and keeps the below-minimum set in step with the quantity. Restock
+ * listeners hear of each beer entering or leaving that set. Beers created or given a new minimum after startup
+ * are picked up from their committed change events.
+ * <p>
+ * Adjustments are flushed as deltas and each flush rebases the entry on the persisted total, so several instances
+ * converge on the sum of all their adjustments. Between flushes an entry sees only this instance's adjustments,
+ * and the check against taking more than is on hand is as local as that.
+ */
+@Slf4j
+@Service
+public class BeerInventoryServiceImpl implements BeerInventoryService {
+
+    private final BeerRepository beerRepository;
+    private final BeerInventoryRepository beerInventoryRepository;
+    private final BeerInventoryWriter beerInventoryWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushBatchSize;
+    private final List<BeerRestockListener> restockListeners;
+
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<UUID> belowMinOnHand = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+
+    public BeerInventoryServiceImpl(BeerRepository beerRepository,
+                                    BeerInventoryRepository beerInventoryRepository,
+                                    BeerInventoryWriter beerInventoryWriter,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry,
+                                    ObjectProvider<BeerRestockListener> restockListeners,
+                                    @Value("${beer.inventory.flush-batch-size:500}") int flushBatchSize) {
+        this.beerRepository = beerRepository;
+        this.beerInventoryRepository = beerInventoryRepository;
+        this.beerInventoryWriter = beerInventoryWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.flushBatchSize = flushBatchSize;
+        this.restockListeners = restockListeners.orderedStream().collect(Collectors.toList());
+        meterRegistry.gaugeCollectionSize("beer.inventory.below.min", Tags.empty(), belowMinOnHand);
+        meterRegistry.gaugeCollectionSize("beer.inventory.unflushed", Tags.empty(), dirty);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        transactionTemplate.execute(status -> {
+            try (Stream<BeerMinOnHand> beers = beerRepository.streamAllWithMinOnHand()) {
+                beers.forEach(beer -> entries.compute(beer.getId(), (id, entry) -> entry != null
+                        ? entry : track(id, new Entry(beer.getMinOnHand(), 0))));
+            }
+            try (Stream<BeerInventory> inventories = beerInventoryRepository.streamAll()) {
+                inventories.forEach(inventory -> entries.compute(inventory.getBeerId(), (id, entry) -> {
+                    if (entry == null) {
+                        return track(id, new Entry(0, inventory.getQuantityOnHand()));
+                    }
+                    // a beer adjusted during the load has already read its persisted quantity
+                    return entry.persistedQuantityRead ? entry : track(id, new Entry(entry.minOnHand,
+                            inventory.getQuantityOnHand(), false, entry.version, 0));
+                }));
+            }
+            return null;
+        });
+        loaded = true;
+        log.info("Loaded inventory for {} beers, {} below minimum on hand", entries.size(), belowMinOnHand.size());
+    }
+
+    @TransactionalEventListener
+    public void onBeerChanged(BeerChangeEvent event) {
+        Integer changedMinOnHand = event.getBeer().getMinOnHand();
+        int minOnHand = changedMinOnHand == null ? 0 : changedMinOnHand;
+        Long version = event.getBeerVersion();
+        entries.compute(event.getBeerId(), (id, entry) -> {
+            if (entry == null) {
+                // a new beer has nothing on hand yet; otherwise the quantity is still to be read
+                return minOnHand == 0 ? null : track(id, new Entry(minOnHand, 0,
+                        event.getChangeType() == BeerChangeType.CREATED, version, 0));
+            }
+            if (entry.version != null && version != null && version <= entry.version) {
+                return entry;
+            }
+            return track(id, new Entry(minOnHand, entry.quantityOnHand, entry.persistedQuantityRead, version,
+                    entry.unflushed));
+        });
+    }
+
+    @Override
+    public BeerInventoryDto adjustInventory(UUID beerId, int quantityDelta) {
+        Entry current = entries.get(beerId);
+        if (current == null || !(loaded || current.persistedQuantityRead)) {
+            register(beerId);
+        }
+        Entry adjusted = entries.compute(beerId, (id, entry) -> {
+            int quantityOnHand = entry.quantityOnHand + quantityDelta;
+            if (quantityOnHand < 0) {
+                throw new BadRequestException("Only " + entry.quantityOnHand + " on hand");
+            }
+            return track(id, new Entry(entry.minOnHand, quantityOnHand, true, entry.version,
+                    entry.unflushed + quantityDelta));
+        });
+        dirty.add(beerId);
+        return toDto(beerId, adjusted);
+    }
+
+    @Override
+    public BeerInventoryDto getInventory(UUID beerId) {
+        return toDto(beerId, entries.getOrDefault(beerId, Entry.EMPTY));
+    }
+
+    @Override
+    public int getQuantityOnHand(UUID beerId) {
+        Entry entry = beerId == null ? null : entries.get(beerId);
+        return entry == null ? 0 : entry.quantityOnHand;
+    }
+
+    @Override
+    public BeerDto withQuantityOnHand(BeerDto beerDto) {
+        return beerDto.toBuilder().quantityOnHand(getQuantityOnHand(beerDto.getId())).build();
+    }
+
+    @Override
+    public BeerPagedList withQuantityOnHand(BeerPagedList beerPagedList) {
+        return new BeerPagedList(
+                beerPagedList.getContent().stream()
+                        .map(this::withQuantityOnHand)
+                        .collect(Collectors.toList()),
+                beerPagedList.getPageable(),
+                beerPagedList.getTotalElements(),
+                beerPagedList.getNextCursor());
+    }
+
+    @Override
+    public List<BeerInventoryDto> listBelowMinOnHand() {
+        List<BeerInventoryDto> below = new ArrayList<>(belowMinOnHand.size());
+        for (UUID beerId : belowMinOnHand) {
+            Entry entry = entries.get(beerId);
+            if (entry != null && entry.quantityOnHand < entry.minOnHand) {
+                below.add(toDto(beerId, entry));
+            }
+        }
+        return below;
+    }
+
+    /**
+     * Synchronized because two overlapping flushes would both write the same unflushed delta.
+     */
+    @Scheduled(fixedDelayString = "${beer.inventory.flush-interval:1000}")
+    public synchronized void flush() {
+        while (!dirty.isEmpty()) {
+            Map<UUID, Integer> deltas = new LinkedHashMap<>();
+            for (Iterator<UUID> ids = dirty.iterator(); ids.hasNext() && deltas.size() < flushBatchSize; ) {
+                UUID beerId = ids.next();
+                // removed before the delta is read, so an adjustment racing the flush marks it dirty again
+                ids.remove();
+                int unflushed = entries.get(beerId).unflushed;
+                if (unflushed != 0) {
+                    deltas.put(beerId, unflushed);
+                }
+            }
+            if (deltas.isEmpty()) {
+                continue;
+            }
+            Map<UUID, Integer> persisted;
+            try {
+                persisted = beerInventoryWriter.write(deltas);
+            } catch (RuntimeException e) {
+                dirty.addAll(deltas.keySet());
+                log.warn("Could not persist inventory of {} beers, will retry", deltas.size(), e);
+                return;
+            }
+            deltas.forEach((beerId, delta) -> entries.compute(beerId, (id, entry) -> {
+                int unflushed = entry.unflushed - delta;
+                return track(id, new Entry(entry.minOnHand, persisted.get(id) + unflushed, true, entry.version,
+                        unflushed));
+            }));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void register(UUID beerId) {
+        int minOnHand = beerRepository.findMinOnHandById(beerId).orElseThrow(NotFoundException::new);
+        int quantityOnHand = beerInventoryRepository.findById(beerId)
+                .map(BeerInventory::getQuantityOnHand)
+                .orElse(0);
+        entries.compute(beerId, (id, entry) -> entry != null && entry.persistedQuantityRead
+                ? entry : track(id, new Entry(entry != null && entry.version != null ? entry.minOnHand : minOnHand,
+                quantityOnHand, true, entry == null ? null : entry.version, 0)));
+    }
+
+    private Entry track(UUID beerId, Entry entry) {
+        if (entry.quantityOnHand < entry.minOnHand) {
+            if (belowMinOnHand.add(beerId)) {
+                restockListeners.forEach(listener -> listener.restockNeededChanged(beerId, true));
+            }
+        } else if (belowMinOnHand.remove(beerId)) {
+            restockListeners.forEach(listener -> listener.restockNeededChanged(beerId, false));
+        }
+        return entry;
+    }
+
+    private static BeerInventoryDto toDto(UUID beerId, Entry entry) {
+        return BeerInventoryDto.builder()
+                .beerId(beerId)
+                .quantityOnHand(entry.quantityOnHand)
+                .minOnHand(entry.minOnHand)
+                .build();
+    }
+
+    private static final class Entry {
+
+        static final Entry EMPTY = new Entry(0, 0);
+
+        final int minOnHand;
+        final int quantityOnHand;
+        // set once the entry is known to hold the persisted quantity plus every adjustment since
+        final boolean persistedQuantityRead;
+        // version of the change that set minOnHand, or null when it was read from the database
+        final Long version;
+        // sum of the adjustments not yet added to the persisted quantity
+        final int unflushed;
+
+        Entry(int minOnHand, int quantityOnHand) {
+            this(minOnHand, quantityOnHand, false, null, 0);
+        }
+
+        Entry(int minOnHand, int quantityOnHand, boolean persistedQuantityRead, Long version, int unflushed) {
+            this.minOnHand = minOnHand;
+            this.quantityOnHand = quantityOnHand;
+            this.persistedQuantityRead = persistedQuantityRead;
+            this.version = version;
+            this.unflushed = unflushed;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.beerservice.services;
+
+import com.beerservice.domain.BeerInventory;
+import com.beerservice.repositories.BeerInventoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Adds a batch of quantity deltas in one transaction, so instances sharing the database add up rather than
+ * overwrite each other's adjustments. Beers without a row yet are inserted with their delta; two instances
+ * inserting the same beer at once fail one batch on the key, and its retry then finds the row. Returns the
+ * persisted quantities after the batch.
+ */
+@RequiredArgsConstructor
+@Component
+class BeerInventoryWriter {
+
+    private final BeerInventoryRepository beerInventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    Map<UUID, Integer> write(Map<UUID, Integer> deltas) {
+        return transactionTemplate.execute(status -> {
+            List<BeerInventory> created = new ArrayList<>();
+            deltas.forEach((beerId, delta) -> {
+                if (beerInventoryRepository.addQuantity(beerId, delta) == 0) {
+                    created.add(BeerInventory.builder().beerId(beerId).quantityOnHand(delta).build());
+                }
+            });
+            beerInventoryRepository.saveAll(created);
+
+            Map<UUID, Integer> persisted = new HashMap<>();
+            beerInventoryRepository.findAllById(deltas.keySet())
+                    .forEach(inventory -> persisted.put(inventory.getBeerId(), inventory.getQuantityOnHand()));
+            return persisted;
+        });
+    }
+}
@@ -0,0 +1,506 @@
+package com.beerservice.services;
+
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerStyleEnum;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the words of beer names and styles. Whole words sit in a sorted map, so a
+ * prefix is one range lookup; each distinct word is also filed under its trigrams, so a term of three or more
+ * characters is found anywhere inside a word by checking only the words that share its rarest trigram.
+ *
+ * <p>A posting is one int: the beer's number shifted left, with the low bits saying where the word occurs
+ * (first word of the name, elsewhere in the name, in the style). Ranking needs nothing else besides name
+ * lengths and styles kept in primitive arrays, so a query matching tens of thousands of beers only
+ * dereferences the ones on the returned page.
+ *
+ * <p>Searches share a read lock; updates take the write lock and are ignored when they carry an older
+ * version than the one indexed, so late or repeated change events cannot roll a beer back.
+ */
+class BeerNameIndex {
+
+    private static final int GRAM = 3;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int FIRST_NAME_WORD = 1;
+    private static final int NAME_WORD = 2;
+    private static final int STYLE_WORD = 4;
+    private static final int ROLE_BITS = 3;
+    private static final int ROLE_MASK = (1 << ROLE_BITS) - 1;
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int INFIX = 2;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> docNumbers = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private short[] nameLengths = new short[1024];
+    private byte[] styles = new byte[1024];
+    private final TreeMap<String, Postings> words = new TreeMap<>();
+    private final Map<String, Set<String>> grams = new HashMap<>();
+    // per-beer scratch scores, kept between searches; as many as have ever run at once
+    private final Queue<byte[]> termScoreBuffers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Adds or updates a beer. Null properties of {@code beer} keep their indexed values, so a partial update
+     * only needs the id, version and the columns it wrote. Returns false when the update was stale.
+     */
+    boolean put(BeerDto beer) {
+        lock.writeLock().lock();
+        try {
+            Integer number = docNumbers.get(beer.getId());
+            Doc previous = number == null ? null : docs.get(number);
+            if (previous != null && previous.version != null && beer.getVersion() != null
+                    && beer.getVersion() <= previous.version) {
+                return false;
+            }
+            Doc doc = Doc.merge(previous, beer);
+            if (number == null) {
+                number = docs.size();
+                docs.add(doc);
+                docNumbers.put(doc.id, number);
+                if (number == styles.length) {
+                    nameLengths = Arrays.copyOf(nameLengths, number * 2);
+                    styles = Arrays.copyOf(styles, number * 2);
+                }
+                index(number, doc.roles);
+            } else {
+                docs.set(number, doc);
+                if (!previous.roles.equals(doc.roles)) {
+                    unindex(number, previous.roles);
+                    index(number, doc.roles);
+                }
+            }
+            nameLengths[number] = (short) Math.min(doc.nameLength, Short.MAX_VALUE);
+            styles[number] = (byte) (doc.beerStyle == null ? -1 : doc.beerStyle.ordinal());
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds beers whose name or style has, for every term of {@code query}, a word starting with it or, for
+     * terms of three or more characters, containing it. Whole words rank above prefixes, prefixes above
+     * matches inside a word and names above styles; a name starting with the first term ranks highest.
+     * Ties go to the shorter name, then to the beer indexed first.
+     */
+    SearchResult search(String query, BeerStyleEnum beerStyle, long offset, int limit) {
+        List<String> terms = new ArrayList<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return new SearchResult(Collections.emptyList(), 0);
+        }
+        String firstTerm = terms.get(0);
+        // longer terms match fewer words, so they narrow the candidates fastest
+        terms.sort(Comparator.comparingInt(String::length).reversed());
+
+        lock.readLock().lock();
+        byte[] termScores = null;
+        try {
+            int docCount = docs.size();
+            termScores = borrowTermScores(docCount);
+            int[] candidates = null;
+            int[] scores = null;
+            int candidateCount = 0;
+            for (String term : terms) {
+                if (candidates != null) {
+                    Arrays.fill(termScores, 0, docCount, (byte) 0);
+                }
+                if (!scoreTerm(term, term.equals(firstTerm), termScores)) {
+                    return new SearchResult(Collections.emptyList(), 0);
+                }
+                if (candidates == null) {
+                    int matches = 0;
+                    for (int number = 0; number < docCount; number++) {
+                        if (termScores[number] > 0) {
+                            matches++;
+                        }
+                    }
+                    candidates = new int[matches];
+                    scores = new int[matches];
+                    for (int number = 0; number < docCount; number++) {
+                        if (termScores[number] > 0) {
+                            candidates[candidateCount] = number;
+                            scores[candidateCount++] = termScores[number];
+                        }
+                    }
+                } else {
+                    int kept = 0;
+                    for (int i = 0; i < candidateCount; i++) {
+                        int number = candidates[i];
+                        if (termScores[number] > 0) {
+                            candidates[kept] = number;
+                            scores[kept++] = scores[i] + termScores[number];
+                        }
+                    }
+                    candidateCount = kept;
+                }
+                if (candidateCount == 0) {
+                    return new SearchResult(Collections.emptyList(), 0);
+                }
+            }
+
+            int style = beerStyle == null ? -1 : beerStyle.ordinal();
+            int total = 0;
+            for (int i = 0; i < candidateCount; i++) {
+                if (style < 0 || styles[candidates[i]] == style) {
+                    total++;
+                }
+            }
+            if (offset >= total) {
+                return new SearchResult(Collections.emptyList(), total);
+            }
+
+            // the heap never needs to hold more than the matches, whatever page was asked for
+            TopHits top = new TopHits((int) Math.min(offset + limit, total));
+            for (int i = 0; i < candidateCount; i++) {
+                int number = candidates[i];
+                if (style < 0 || styles[number] == style) {
+                    top.offer(number, scores[i], nameLengths[number]);
+                }
+            }
+
+            int[] ranked = top.ranked();
+            List<BeerDto> page = new ArrayList<>(ranked.length - (int) offset);
+            for (int i = (int) offset; i < ranked.length; i++) {
+                page.add(docs.get(ranked[i]).toDto());
+            }
+            return new SearchResult(page, total);
+        } finally {
+            if (termScores != null) {
+                termScoreBuffers.offer(termScores);
+            }
+            lock.readLock().unlock();
+        }
+    }
+
+    private byte[] borrowTermScores(int docCount) {
+        byte[] buffer = termScoreBuffers.poll();
+        if (buffer == null || buffer.length < docCount) {
+            // headroom, so a growing catalog does not retire the buffer on every new beer
+            return new byte[docCount + docCount / 4];
+        }
+        Arrays.fill(buffer, 0, docCount, (byte) 0);
+        return buffer;
+    }
+
+    /**
+     * Records in {@code termScores} the best score of {@code term} for every beer it matches; returns false
+     * when it matches none.
+     */
+    private boolean scoreTerm(String term, boolean leading, byte[] termScores) {
+        boolean matched = false;
+        Map<String, Postings> startingWithTerm = words.subMap(term, true, term + Character.MAX_VALUE, false);
+        for (Map.Entry<String, Postings> word : startingWithTerm.entrySet()) {
+            word.getValue().score(word.getKey().length() == term.length() ? EXACT : PREFIX, leading, termScores);
+            matched = true;
+        }
+        if (term.length() < GRAM) {
+            return matched;
+        }
+
+        // the vocabulary is far smaller than the catalog, so substrings are checked per word, not per beer
+        Set<String> rarest = null;
+        for (String gram : gramsOf(term)) {
+            Set<String> containing = grams.get(gram);
+            if (containing == null) {
+                return matched;
+            }
+            if (rarest == null || containing.size() < rarest.size()) {
+                rarest = containing;
+            }
+        }
+        for (String word : rarest) {
+            if (!word.startsWith(term) && word.contains(term)) {
+                words.get(word).score(INFIX, leading, termScores);
+                matched = true;
+            }
+        }
+        return matched;
+    }
+
+    private static byte score(int match, int roles, boolean leading) {
+        int score = 0;
+        if ((roles & (FIRST_NAME_WORD | NAME_WORD)) != 0) {
+            score = match == EXACT ? 15 : match == PREFIX ? 10 : 4;
+            if (leading && match != INFIX && (roles & FIRST_NAME_WORD) != 0) {
+                score += 50;
+            }
+        } else if ((roles & STYLE_WORD) != 0) {
+            score = 1;
+        }
+        return (byte) score;
+    }
+
+    private void index(int number, Map<String, Integer> roles) {
+        roles.forEach((word, role) -> {
+            Postings postings = words.get(word);
+            if (postings == null) {
+                postings = new Postings();
+                words.put(word, postings);
+                for (String gram : gramsOf(word)) {
+                    grams.computeIfAbsent(gram, g -> new HashSet<>()).add(word);
+                }
+            }
+            postings.add(number << ROLE_BITS | role);
+        });
+    }
+
+    private void unindex(int number, Map<String, Integer> roles) {
+        roles.forEach((word, role) -> {
+            Postings postings = words.get(word);
+            if (postings != null && postings.remove(number << ROLE_BITS | role) && postings.size == 0) {
+                words.remove(word);
+                for (String gram : gramsOf(word)) {
+                    Set<String> containing = grams.get(gram);
+                    containing.remove(word);
+                    if (containing.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        });
+    }
+
+    private static Set<String> gramsOf(String word) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            result.add(word.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text != null) {
+            for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class SearchResult {
+        private final List<BeerDto> content;
+        private final long total;
+    }
+
+    /**
+     * Bounded heap of the best beer numbers with the worst on top, ordered by score, then shorter name, then
+     * lower number.
+     */
+    private static final class TopHits {
+        private final int capacity;
+        private final int[] numbers;
+        private final int[] scores;
+        private final int[] lengths;
+        private int size;
+
+        TopHits(int capacity) {
+            this.capacity = capacity;
+            this.numbers = new int[capacity];
+            this.scores = new int[capacity];
+            this.lengths = new int[capacity];
+        }
+
+        void offer(int number, int score, int length) {
+            if (size < capacity) {
+                set(size, number, score, length);
+                siftUp(size++);
+            } else if (capacity > 0 && better(number, score, length, 0)) {
+                set(0, number, score, length);
+                siftDown(0);
+            }
+        }
+
+        int[] ranked() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> better(numbers[a], scores[a], lengths[a], b) ? -1 : 1);
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = numbers[order[i]];
+            }
+            return result;
+        }
+
+        private boolean better(int number, int score, int length, int slot) {
+            if (score != scores[slot]) {
+                return score > scores[slot];
+            }
+            if (length != lengths[slot]) {
+                return length < lengths[slot];
+            }
+            return number < numbers[slot];
+        }
+
+        private void siftUp(int slot) {
+            while (slot > 0) {
+                int parent = (slot - 1) / 2;
+                if (!better(numbers[parent], scores[parent], lengths[parent], slot)) {
+                    return;
+                }
+                swap(slot, parent);
+                slot = parent;
+            }
+        }
+
+        private void siftDown(int slot) {
+            while (true) {
+                int worst = slot;
+                for (int child = 2 * slot + 1; child <= 2 * slot + 2 && child < size; child++) {
+                    if (better(numbers[worst], scores[worst], lengths[worst], child)) {
+                        worst = child;
+                    }
+                }
+                if (worst == slot) {
+                    return;
+                }
+                swap(slot, worst);
+                slot = worst;
+            }
+        }
+
+        private void set(int slot, int number, int score, int length) {
+            numbers[slot] = number;
+            scores[slot] = score;
+            lengths[slot] = length;
+        }
+
+        private void swap(int a, int b) {
+            int number = numbers[a];
+            int score = scores[a];
+            int length = lengths[a];
+            set(a, numbers[b], scores[b], lengths[b]);
+            set(b, number, score, length);
+        }
+    }
+
+    private static final class Doc {
+        private final BeerDto beer;
+        private final UUID id;
+        private final Integer version;
+        private final BeerStyleEnum beerStyle;
+        private final int nameLength;
+        private final Map<String, Integer> roles = new LinkedHashMap<>();
+
+        private Doc(BeerDto beer) {
+            this.beer = beer;
+            this.id = beer.getId();
+            this.version = beer.getVersion();
+            this.beerStyle = beer.getBeerStyle();
+            this.nameLength = beer.getBeerName() == null ? 0 : beer.getBeerName().length();
+            boolean first = true;
+            for (String word : tokenize(beer.getBeerName())) {
+                roles.merge(word, first ? FIRST_NAME_WORD : NAME_WORD, (a, b) -> a | b);
+                first = false;
+            }
+            if (beerStyle != null) {
+                for (String word : tokenize(beerStyle.name())) {
+                    roles.merge(word, STYLE_WORD, (a, b) -> a | b);
+                }
+            }
+        }
+
+        static Doc merge(Doc previous, BeerDto changes) {
+            if (previous == null) {
+                return new Doc(changes.toBuilder().quantityOnHand(null).build());
+            }
+            BeerDto current = previous.beer;
+            return new Doc(current.toBuilder()
+                    .version(changes.getVersion() != null ? changes.getVersion() : current.getVersion())
+                    .createdDate(changes.getCreatedDate() != null ? changes.getCreatedDate() : current.getCreatedDate())
+                    .lastModifiedDate(changes.getLastModifiedDate() != null
+                            ? changes.getLastModifiedDate() : current.getLastModifiedDate())
+                    .beerName(changes.getBeerName() != null ? changes.getBeerName() : current.getBeerName())
+                    .beerStyle(changes.getBeerStyle() != null ? changes.getBeerStyle() : current.getBeerStyle())
+                    .upc(changes.getUpc() != null ? changes.getUpc() : current.getUpc())
+                    .price(changes.getPrice() != null ? changes.getPrice() : current.getPrice())
+                    .minOnHand(changes.getMinOnHand() != null ? changes.getMinOnHand() : current.getMinOnHand())
+                    .build());
+        }
+
+        BeerDto toDto() {
+            return beer.toBuilder().build();
+        }
+    }
+
+    /**
+     * Sorted, growable array of postings. New beers get the highest number, so adding is almost always an
+     * append.
+     */
+    private static final class Postings {
+        private int[] entries = new int[4];
+        private int size;
+
+        void add(int entry) {
+            int at = size == 0 || entries[size - 1] < entry ? size : Arrays.binarySearch(entries, 0, size, entry);
+            if (at >= 0 && at < size) {
+                return;
+            }
+            int insertAt = at < 0 ? -at - 1 : at;
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            System.arraycopy(entries, insertAt, entries, insertAt + 1, size - insertAt);
+            entries[insertAt] = entry;
+            size++;
+        }
+
+        boolean remove(int entry) {
+            int at = Arrays.binarySearch(entries, 0, size, entry);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(entries, at + 1, entries, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        void score(int match, boolean leading, byte[] termScores) {
+            for (int i = 0; i < size; i++) {
+                int number = entries[i] >>> ROLE_BITS;
+                byte score = BeerNameIndex.score(match, entries[i] & ROLE_MASK, leading);
+                if (score > termScores[number]) {
+                    termScores[number] = score;
+                }
+            }
+        }
+    }
+}
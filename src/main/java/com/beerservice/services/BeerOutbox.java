@@ -0,0 +1,92 @@
+package com.beerservice.services;
+
+import com.beerservice.domain.Beer;
+import com.beerservice.domain.BeerOutboxEvent;
+import com.beerservice.events.BeerChangeEvent;
+import com.beerservice.events.BeerChangeType;
+import com.beerservice.repositories.BeerOutboxRepository;
+import com.beerservice.web.mappers.BeerMapper;
+import com.beerservice.web.model.BeerDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records beer changes in the outbox table. Rows are written in the caller's transaction, so an event exists
+ * exactly when its change was committed; {@link BeerOutboxPublisher} delivers them afterwards.
+ */
+@RequiredArgsConstructor
+@Component
+class BeerOutbox {
+
+    private final BeerOutboxRepository beerOutboxRepository;
+    private final BeerMapper beerMapper;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    void record(BeerChangeType changeType, BeerDto beer) {
+        requireTransaction();
+        publishLocally(beerOutboxRepository.save(toEvent(changeType, beer)), beer);
+    }
+
+    /**
+     * Records changes to managed beers, flushing first so the events carry the versions being committed.
+     */
+    void recordAll(List<BeerChangeType> changeTypes, List<Beer> beers) {
+        requireTransaction();
+        // flushed through a repository so constraint violations surface as DataIntegrityViolationException
+        beerOutboxRepository.flush();
+        List<BeerOutboxEvent> events = new ArrayList<>(beers.size());
+        List<BeerDto> beerDtos = new ArrayList<>(beers.size());
+        for (int i = 0; i < beers.size(); i++) {
+            beerDtos.add(beerMapper.beerToBeerDto(beers.get(i)));
+            events.add(toEvent(changeTypes.get(i), beerDtos.get(i)));
+        }
+        List<BeerOutboxEvent> saved = beerOutboxRepository.saveAll(events);
+        for (int i = 0; i < saved.size(); i++) {
+            publishLocally(saved.get(i), beerDtos.get(i));
+        }
+    }
+
+    /**
+     * Hands the change to in-process listeners, which see it through a {@code @TransactionalEventListener}
+     * once the transaction has committed and without waiting for the outbox publisher.
+     */
+    private void publishLocally(BeerOutboxEvent event, BeerDto beer) {
+        applicationEventPublisher.publishEvent(BeerChangeEvent.builder()
+                .sequence(event.getId())
+                .beerId(event.getBeerId())
+                .changeType(event.getChangeType())
+                .beerVersion(event.getBeerVersion())
+                .occurredAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .beer(beer)
+                .build());
+    }
+
+    private BeerOutboxEvent toEvent(BeerChangeType changeType, BeerDto beer) {
+        try {
+            return BeerOutboxEvent.builder()
+                    .beerId(beer.getId())
+                    .changeType(changeType)
+                    .beerVersion(beer.getVersion() == null ? null : beer.getVersion().longValue())
+                    .payload(objectMapper.writeValueAsString(beer))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize beer " + beer.getId(), e);
+        }
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written in the transaction of their change");
+        }
+    }
+}
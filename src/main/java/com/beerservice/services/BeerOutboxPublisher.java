@@ -0,0 +1,130 @@
+package com.beerservice.services;
+
+import com.beerservice.domain.BeerOutboxEvent;
+import com.beerservice.events.BeerChangeEvent;
+import com.beerservice.events.BeerChangeEventSink;
+import com.beerservice.repositories.BeerOutboxRepository;
+import com.beerservice.web.model.BeerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox to the {@link BeerChangeEventSink} in id order, one batch at a time. Rows are deleted only
+ * after the sink accepted them, so a crash in between repeats a batch rather than losing it. A failed batch
+ * stops the round, which keeps later changes to a beer from overtaking earlier ones.
+ */
+@Slf4j
+@Component
+public class BeerOutboxPublisher {
+
+    private final BeerOutboxRepository beerOutboxRepository;
+    private final BeerChangeEventSink beerChangeEventSink;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Timer publishLag;
+    private final Counter published;
+    private final Counter failures;
+    private final AtomicLong oldestUnpublishedMillis = new AtomicLong();
+
+    public BeerOutboxPublisher(BeerOutboxRepository beerOutboxRepository,
+                               BeerChangeEventSink beerChangeEventSink,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${beer.outbox.batch-size:500}") int batchSize) {
+        this.beerOutboxRepository = beerOutboxRepository;
+        this.beerChangeEventSink = beerChangeEventSink;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.publishLag = Timer.builder("beer.outbox.publish.lag")
+                .description("Time from committing a beer change to its event being accepted by the sink")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.published = meterRegistry.counter("beer.outbox.published");
+        this.failures = meterRegistry.counter("beer.outbox.publish.failures");
+        Gauge.builder("beer.outbox.oldest.unpublished.age", oldestUnpublishedMillis,
+                oldest -> oldest.get() == 0 ? 0 : (System.currentTimeMillis() - oldest.get()) / 1000.0)
+                .description("Age of the oldest event seen waiting in the outbox by the last publishing round")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${beer.outbox.publish-interval:500}")
+    public void scheduledPublish() {
+        publishPending();
+    }
+
+    /**
+     * Publishes everything currently in the outbox and returns the number of events delivered.
+     */
+    public synchronized int publishPending() {
+        int delivered = 0;
+        while (true) {
+            List<BeerOutboxEvent> batch = beerOutboxRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                oldestUnpublishedMillis.set(0);
+                return delivered;
+            }
+            oldestUnpublishedMillis.set(batch.get(0).getCreatedDate().getTime());
+            try {
+                beerChangeEventSink.publish(toEvents(batch));
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Publishing {} beer change events failed, retrying on the next round", batch.size(), e);
+                return delivered;
+            }
+
+            long now = System.currentTimeMillis();
+            batch.forEach(event -> publishLag.record(now - event.getCreatedDate().getTime(), TimeUnit.MILLISECONDS));
+            List<Long> ids = batch.stream().map(BeerOutboxEvent::getId).collect(Collectors.toList());
+            transactionTemplate.execute(status -> beerOutboxRepository.deleteByIdIn(ids));
+            published.increment(batch.size());
+            delivered += batch.size();
+
+            if (batch.size() < batchSize) {
+                oldestUnpublishedMillis.set(0);
+                return delivered;
+            }
+        }
+    }
+
+    private List<BeerChangeEvent> toEvents(List<BeerOutboxEvent> batch) {
+        List<BeerChangeEvent> events = new ArrayList<>(batch.size());
+        for (BeerOutboxEvent event : batch) {
+            try {
+                events.add(BeerChangeEvent.builder()
+                        .sequence(event.getId())
+                        .beerId(event.getBeerId())
+                        .changeType(event.getChangeType())
+                        .beerVersion(event.getBeerVersion())
+                        .occurredAt(Instant.ofEpochMilli(event.getCreatedDate().getTime()).atOffset(ZoneOffset.UTC))
+                        .beer(objectMapper.readValue(event.getPayload(), BeerDto.class))
+                        .build());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read outbox event " + event.getId(), e);
+            }
+        }
+        return events;
+    }
+}
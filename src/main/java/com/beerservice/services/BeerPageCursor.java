@@ -0,0 +1,43 @@
+package com.beerservice.services;
+
+import com.beerservice.domain.Beer;
+import com.beerservice.web.controller.exception.BadRequestException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position (createdDate, id) handed out to clients as {@code nextCursor}.
+ */
+@Getter
+class BeerPageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final Timestamp createdDate;
+    private final UUID id;
+
+    private BeerPageCursor(Timestamp createdDate, UUID id) {
+        this.createdDate = createdDate;
+        this.id = id;
+    }
+
+    static String encode(Beer beer) {
+        String raw = beer.getCreatedDate().toString() + SEPARATOR + beer.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static BeerPageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new BeerPageCursor(Timestamp.valueOf(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
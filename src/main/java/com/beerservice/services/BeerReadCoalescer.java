@@ -0,0 +1,76 @@
+package com.beerservice.services;
+
+import com.beerservice.config.ReadRouting;
+import com.beerservice.events.BeerChangeEvent;
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerPagedList;
+import com.beerservice.web.model.BeerStyleEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical reads share one database fetch and one mapped result. A list is loaded in its own
+ * read-only transaction, so waiting callers do not hold a connection. Once a write commits, callers arriving
+ * after it start a new fetch instead of joining one that may have started before the write.
+ */
+@Component
+class BeerReadCoalescer {
+
+    private final SingleFlight<UUID, BeerDto> byId;
+    private final SingleFlight<ListQuery, BeerPagedList> lists;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    BeerReadCoalescer(PlatformTransactionManager transactionManager,
+                      MeterRegistry meterRegistry,
+                      @Value("${beer.coalescing.enabled:true}") boolean enabled) {
+        this.byId = new SingleFlight<>(meterRegistry, "getById");
+        this.lists = new SingleFlight<>(meterRegistry, "listBeers");
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    BeerDto getById(UUID id, Supplier<BeerDto> loader) {
+        return coalescing() ? byId.execute(id, loader) : loader.get();
+    }
+
+    BeerPagedList listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, String cursor,
+                            boolean keyset, Supplier<BeerPagedList> loader) {
+        Supplier<BeerPagedList> transactional = () -> readOnlyTransaction.execute(status -> loader.get());
+        return coalescing()
+                ? lists.execute(new ListQuery(beerName, beerStyle, pageRequest, cursor, keyset), transactional)
+                : transactional.get();
+    }
+
+    // a caller routed to the primary must not join a flight that may be reading a lagging replica
+    private boolean coalescing() {
+        return enabled && !ReadRouting.isPrimaryRequired();
+    }
+
+    @TransactionalEventListener
+    public void onBeerChanged(BeerChangeEvent event) {
+        byId.forget(event.getBeerId());
+        lists.forgetAll();
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class ListQuery {
+        private final String beerName;
+        private final BeerStyleEnum beerStyle;
+        private final PageRequest pageRequest;
+        private final String cursor;
+        private final boolean keyset;
+    }
+}
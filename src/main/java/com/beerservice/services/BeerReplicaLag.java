@@ -0,0 +1,38 @@
+package com.beerservice.services;
+
+import com.beerservice.events.BeerChangeEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers the beers whose changes committed within {@code beer.datasource.read-your-writes-window}, the time
+ * replicas are allowed to lag behind. What a replica returns for such a beer may predate the change, so it must
+ * not be cached. Without replicas every read goes to the primary and nothing is remembered.
+ */
+@Component
+class BeerReplicaLag {
+
+    private final Cache<UUID, Boolean> recentlyChanged;
+
+    BeerReplicaLag(@Value("${beer.datasource.replicas:}") String replicas,
+                   @Value("${beer.datasource.read-your-writes-window:5s}") Duration window) {
+        this.recentlyChanged = replicas.isEmpty() ? null : Caffeine.newBuilder().expireAfterWrite(window).build();
+    }
+
+    @TransactionalEventListener
+    public void onBeerChanged(BeerChangeEvent event) {
+        if (recentlyChanged != null) {
+            recentlyChanged.put(event.getBeerId(), Boolean.TRUE);
+        }
+    }
+
+    boolean mayBeBehind(UUID beerId) {
+        return recentlyChanged != null && recentlyChanged.getIfPresent(beerId) != null;
+    }
+}
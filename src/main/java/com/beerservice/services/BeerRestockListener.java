@@ -0,0 +1,12 @@
+package com.beerservice.services;
+
+import java.util.UUID;
+
+/**
+ * Told when a beer's quantity on hand falls below its minimum or recovers. Called while the beer's inventory
+ * entry is being updated, so implementations must be quick and must not call back into the inventory.
+ */
+public interface BeerRestockListener {
+
+    void restockNeededChanged(UUID beerId, boolean restockNeeded);
+}
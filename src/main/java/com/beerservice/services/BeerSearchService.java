@@ -0,0 +1,14 @@
+package com.beerservice.services;
+
+import com.beerservice.web.model.BeerPagedList;
+import com.beerservice.web.model.BeerStyleEnum;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Ranked prefix and substring search over beer names and styles, answered from an in-memory index that
+ * follows committed changes.
+ */
+public interface BeerSearchService {
+
+    BeerPagedList search(String query, BeerStyleEnum beerStyle, PageRequest pageRequest);
+}
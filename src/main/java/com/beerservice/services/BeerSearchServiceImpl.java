@@ -0,0 +1,82 @@
+package com.beerservice.services;
+
+import com.beerservice.domain.Beer;
+import com.beerservice.events.BeerChangeEvent;
+import com.beerservice.repositories.BeerRepository;
+import com.beerservice.web.mappers.BeerMapper;
+import com.beerservice.web.model.BeerPagedList;
+import com.beerservice.web.model.BeerStyleEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class BeerSearchServiceImpl implements BeerSearchService {
+
+    private final BeerRepository beerRepository;
+    private final BeerMapper beerMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BeerNameIndex index = new BeerNameIndex();
+    private final Timer searchTimer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BeerSearchServiceImpl(BeerRepository beerRepository,
+                                 BeerMapper beerMapper,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.beerRepository = beerRepository;
+        this.beerMapper = beerMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.searchTimer = Timer.builder("beer.search")
+                .description("Time to answer a search from the in-memory index")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        meterRegistry.gauge("beer.search.indexed", index, BeerNameIndex::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        transactionTemplate.execute(status -> {
+            try (Stream<Beer> beers = beerRepository.streamAll()) {
+                // changes committed meanwhile carry newer versions, so the older streamed copy loses
+                beers.forEach(beer -> {
+                    index.put(beerMapper.beerToBeerDto(beer));
+                    entityManager.detach(beer);
+                });
+            }
+            return null;
+        });
+        log.info("Indexed {} beers for search", index.size());
+    }
+
+    @TransactionalEventListener
+    public void onBeerChanged(BeerChangeEvent event) {
+        index.put(event.getBeer());
+    }
+
+    @Override
+    public BeerPagedList search(String query, BeerStyleEnum beerStyle, PageRequest pageRequest) {
+        long start = System.nanoTime();
+        try {
+            BeerNameIndex.SearchResult result = index.search(query, beerStyle,
+                    pageRequest.getOffset(), pageRequest.getPageSize());
+            return new BeerPagedList(result.getContent(), pageRequest, result.getTotal());
+        } finally {
+            searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,14 +1,59 @@
 package com.beerservice.services;
 
+import com.beerservice.web.model.BeerBulkResult;
 import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerExportFormat;
+import com.beerservice.web.model.BeerPagedList;
+import com.beerservice.web.model.BeerStyleEnum;
+import org.springframework.data.domain.PageRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface BeerService {
 
+    BeerPagedList listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest);
+
+    /**
+     * Keyset page ordered by creation; no total count is run, so {@code totalElements} covers only this page and
+     * {@code hasNext} tells whether a further one exists. Pass the returned {@code nextCursor} to fetch it.
+     */
+    BeerPagedList listBeersAfter(String beerName, BeerStyleEnum beerStyle, String cursor, int pageSize);
+
     BeerDto getById(UUID id);
 
+    BeerDto getByUpc(String upc);
+
+    /**
+     * Resolves many UPCs with at most one query; unknown UPCs are left out of the result.
+     */
+    List<BeerDto> getByUpcs(List<String> upcs);
+
     BeerDto saveNewBeer(BeerDto beerDto);
 
-    BeerDto updateBeer(UUID id, BeerDto beerDto);
+    /**
+     * Applies the update as one versioned UPDATE, reading the beer first, under a row lock, only when the version
+     * being written over is not cached. A non-null {@code expectedVersion} must match the stored version,
+     * otherwise a {@code PreconditionFailedException} is thrown. Returns the beer's full state after the write.
+     */
+    BeerDto updateBeer(UUID id, BeerDto beerDto, Integer expectedVersion);
+
+    /**
+     * Like {@link #updateBeer} but only writes the non-null editable fields of {@code patch}; the result still
+     * carries every column.
+     */
+    BeerDto patchBeer(UUID id, BeerDto patch, Integer expectedVersion);
+
+    /**
+     * Upserts beers keyed by UPC, writing valid items in batched chunks. Results are returned in input order.
+     */
+    List<BeerBulkResult> saveOrUpdateBeers(List<BeerDto> beerDtos);
+
+    /**
+     * Writes every beer, or only those modified after {@code updatedSince}, to the stream one row at a time.
+     */
+    void exportBeers(OffsetDateTime updatedSince, BeerExportFormat format, OutputStream outputStream) throws IOException;
 }
@@ -1,47 +1,301 @@
 package com.beerservice.services;
 
+import com.beerservice.config.CacheConfig;
+import com.beerservice.config.ReadRouting;
+import com.beerservice.config.VersionAwareCaffeineCache;
 import com.beerservice.domain.Beer;
+import com.beerservice.events.BeerChangeType;
 import com.beerservice.repositories.BeerRepository;
 import com.beerservice.web.controller.exception.NotFoundException;
+import com.beerservice.web.controller.exception.PreconditionFailedException;
 import com.beerservice.web.mappers.BeerMapper;
+import com.beerservice.web.model.BeerBulkResult;
 import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerExportFormat;
+import com.beerservice.web.model.BeerPagedList;
+import com.beerservice.web.model.BeerStyleEnum;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class BeerServiceImpl implements BeerService {
 
+    private static final Map<String, Function<BeerDto, Object>> PATCHABLE_PROPERTIES = new LinkedHashMap<>();
+
+    static {
+        PATCHABLE_PROPERTIES.put("beerName", BeerDto::getBeerName);
+        PATCHABLE_PROPERTIES.put("beerStyle", BeerDto::getBeerStyle);
+        PATCHABLE_PROPERTIES.put("upc", BeerDto::getUpc);
+        PATCHABLE_PROPERTIES.put("price", BeerDto::getPrice);
+        PATCHABLE_PROPERTIES.put("minOnHand", BeerDto::getMinOnHand);
+    }
+
     private final BeerRepository beerRepository;
     private final BeerMapper beerMapper;
+    private final BeerBulkWriter beerBulkWriter;
+    private final BeerExporter beerExporter;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final Validator validator;
+    private final BeerOutbox beerOutbox;
+    private final BeerReadCoalescer beerReadCoalescer;
+    private final BeerReplicaLag beerReplicaLag;
+
+    @Override
+    public BeerPagedList listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest) {
+        return beerReadCoalescer.listBeers(beerName, beerStyle, pageRequest, null, false, () -> {
+            Page<Beer> beerPage;
+            if (beerName != null && beerStyle != null) {
+                beerPage = beerRepository.findAllByBeerNameAndBeerStyle(beerName, beerStyle.name(), pageRequest);
+            } else if (beerName != null) {
+                beerPage = beerRepository.findAllByBeerName(beerName, pageRequest);
+            } else if (beerStyle != null) {
+                beerPage = beerRepository.findAllByBeerStyle(beerStyle.name(), pageRequest);
+            } else {
+                beerPage = beerRepository.findAll(pageRequest);
+            }
+
+            return new BeerPagedList(
+                    beerPage.getContent().stream()
+                            .map(beerMapper::beerToBeerDto)
+                            .collect(Collectors.toList()),
+                    beerPage.getPageable(),
+                    beerPage.getTotalElements());
+        });
+    }
+
+    @Override
+    public BeerPagedList listBeersAfter(String beerName, BeerStyleEnum beerStyle, String cursor, int pageSize) {
+        return beerReadCoalescer.listBeers(beerName, beerStyle, PageRequest.of(0, pageSize), cursor, true, () -> {
+            Timestamp afterCreatedDate = null;
+            UUID afterId = null;
+            if (cursor != null && !cursor.isEmpty()) {
+                BeerPageCursor position = BeerPageCursor.decode(cursor);
+                afterCreatedDate = position.getCreatedDate();
+                afterId = position.getId();
+            }
+
+            // one extra row tells whether a next page exists without counting
+            List<Beer> beers = beerRepository.findPageAfter(beerName, beerStyle == null ? null : beerStyle.name(),
+                    afterCreatedDate, afterId, pageSize + 1);
+
+            boolean hasNext = beers.size() > pageSize;
+            if (hasNext) {
+                beers = beers.subList(0, pageSize);
+            }
+
+            return new BeerPagedList(
+                    beers.stream()
+                            .map(beerMapper::beerToBeerDto)
+                            .collect(Collectors.toList()),
+                    PageRequest.of(0, pageSize),
+                    beers.size(),
+                    hasNext ? BeerPageCursor.encode(beers.get(pageSize - 1)) : null);
+        });
+    }
 
     @Override
     public BeerDto getById(UUID id) {
-        return beerMapper.beerToBeerDto(
+        Cache beerCache = cachedReads(CacheConfig.BEER_CACHE);
+        BeerDto cached = beerCache == null ? null : beerCache.get(id, BeerDto.class);
+        if (cached != null) {
+            return cached;
+        }
+        BeerDto beerDto = beerReadCoalescer.getById(id, () -> beerMapper.beerToBeerDto(
                 beerRepository.findById(id).orElseThrow(NotFoundException::new)
+        ));
+        cacheRead(getCache(CacheConfig.BEER_CACHE), id, beerDto);
+        return beerDto;
+    }
+
+    @Override
+    public BeerDto getByUpc(String upc) {
+        Cache upcCache = cachedReads(CacheConfig.BEER_UPC_CACHE);
+        BeerDto cached = upcCache == null ? null : upcCache.get(upc, BeerDto.class);
+        if (cached != null) {
+            return cached;
+        }
+        BeerDto beerDto = beerMapper.beerToBeerDto(
+                beerRepository.findByUpc(upc).orElseThrow(NotFoundException::new)
         );
+        cacheRead(getCache(CacheConfig.BEER_UPC_CACHE), upc, beerDto);
+        return beerDto;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BeerDto> getByUpcs(List<String> upcs) {
+        Cache upcCache = cachedReads(CacheConfig.BEER_UPC_CACHE);
+        Set<String> distinctUpcs = new LinkedHashSet<>(upcs);
+        Map<String, BeerDto> found = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+
+        for (String upc : distinctUpcs) {
+            BeerDto cached = upcCache == null ? null : upcCache.get(upc, BeerDto.class);
+            if (cached != null) {
+                found.put(upc, cached);
+            } else {
+                misses.add(upc);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (Beer beer : beerRepository.findAllByUpcIn(misses)) {
+                BeerDto beerDto = beerMapper.beerToBeerDto(beer);
+                found.put(beer.getUpc(), beerDto);
+                cacheRead(getCache(CacheConfig.BEER_UPC_CACHE), beer.getUpc(), beerDto);
+            }
+        }
+
+        return distinctUpcs.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
+    @Caching(put = {
+            @CachePut(cacheNames = CacheConfig.BEER_CACHE, key = "#result.id"),
+            @CachePut(cacheNames = CacheConfig.BEER_UPC_CACHE, key = "#result.upc")
+    })
+    @Transactional
     @Override
     public BeerDto saveNewBeer(BeerDto beerDto) {
-        return beerMapper.beerToBeerDto(
+        BeerDto saved = beerMapper.beerToBeerDto(
                 beerRepository.save(beerMapper.beerDtoToBeer(beerDto))
         );
+        beerOutbox.record(BeerChangeType.CREATED, saved);
+        return saved;
     }
 
+    @Transactional
     @Override
-    public BeerDto updateBeer(UUID id, BeerDto beerDto) {
-        Beer beerToUpdate = beerRepository.findById(id).orElseThrow(NotFoundException::new);
+    public BeerDto updateBeer(UUID id, BeerDto beerDto, Integer expectedVersion) {
+        return writeChanges(id, beerDto, expectedVersion);
+    }
 
-        beerToUpdate.setBeerName(beerDto.getBeerName());
-        beerToUpdate.setBeerStyle(beerDto.getBeerStyle().name());
-        beerToUpdate.setPrice(beerDto.getPrice());
-        beerToUpdate.setUpc(beerDto.getUpc());
+    @Transactional
+    @Override
+    public BeerDto patchBeer(UUID id, BeerDto patch, Integer expectedVersion) {
+        Set<ConstraintViolation<BeerDto>> violations = new HashSet<>();
+        // absent fields are null and must not trip @NotNull, so only supplied ones are checked
+        PATCHABLE_PROPERTIES.forEach((property, getter) -> {
+            if (getter.apply(patch) != null) {
+                violations.addAll(validator.validateProperty(patch, property));
+            }
+        });
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return writeChanges(id, patch, expectedVersion);
+    }
 
-        return beerMapper.beerToBeerDto(
-                beerRepository.save(beerToUpdate)
-        );
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BEER_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.BEER_UPC_CACHE, allEntries = true)
+    })
+    @Override
+    public List<BeerBulkResult> saveOrUpdateBeers(List<BeerDto> beerDtos) {
+        return beerBulkWriter.write(beerDtos);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportBeers(OffsetDateTime updatedSince, BeerExportFormat format, OutputStream outputStream) throws IOException {
+        beerExporter.export(updatedSince, format, outputStream);
+    }
+
+    private BeerDto writeChanges(UUID id, BeerDto changes, Integer expectedVersion) {
+        Beer values = new Beer();
+        beerMapper.patchBeerFromDto(changes, values);
+        values.setLastModifiedDate(new Timestamp(System.currentTimeMillis()));
+
+        // a cached copy of the version being written over supplies the columns left alone, so the UPDATE,
+        // conditioned on that version, is the only statement; otherwise the row is read once, under a lock
+        Cache beerCache = getCache(CacheConfig.BEER_CACHE);
+        BeerDto previous = beerCache == null ? null : beerCache.get(id, BeerDto.class);
+        if (previous == null || previous.getVersion() == null
+                || expectedVersion != null && !expectedVersion.equals(previous.getVersion())
+                || beerRepository.updateIfVersion(id, previous.getVersion().longValue(), values) == 0) {
+            previous = beerMapper.beerToBeerDto(beerRepository.findByIdForUpdate(id).orElseThrow(NotFoundException::new));
+            if (expectedVersion != null && !expectedVersion.equals(previous.getVersion())) {
+                throw new PreconditionFailedException();
+            }
+            beerRepository.updateIfVersion(id, previous.getVersion().longValue(), values);
+        }
+
+        Beer current = beerMapper.beerDtoToBeer(previous);
+        beerMapper.patchBeerFromDto(changes, current);
+        current.setLastModifiedDate(values.getLastModifiedDate());
+        current.setId(id);
+        current.setVersion(previous.getVersion() + 1L);
+        BeerDto updated = beerMapper.beerToBeerDto(current);
+
+        beerOutbox.record(BeerChangeType.UPDATED, updated);
+        refreshCachedBeer(beerCache, previous.getUpc(), updated);
+        return updated;
+    }
+
+    private Cache getCache(String name) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        return manager == null ? null : manager.getCache(name);
+    }
+
+    /**
+     * The cache to answer reads from, or null when the caller reads its own writes: an entry there may have come
+     * from a replica, so such a caller goes to the primary.
+     */
+    private Cache cachedReads(String name) {
+        return ReadRouting.isPrimaryRequired() ? null : getCache(name);
+    }
+
+    private void cacheRead(Cache cache, Object key, BeerDto beerDto) {
+        // a replica may not have applied a change that committed moments ago
+        if (cache != null && (ReadRouting.isPrimaryRequired() || !beerReplicaLag.mayBeBehind(beerDto.getId()))) {
+            cache.put(key, beerDto);
+        }
+    }
+
+    /**
+     * Installs the written state under the beer's id and UPC. The caches are transaction aware, so this takes
+     * effect when the write commits, and the version check keeps reads that started before it from undoing it.
+     */
+    private void refreshCachedBeer(Cache beerCache, String previousUpc, BeerDto updated) {
+        Cache upcCache = getCache(CacheConfig.BEER_UPC_CACHE);
+        if (beerCache == null || upcCache == null) {
+            return;
+        }
+        beerCache.put(updated.getId(), updated);
+        if (previousUpc != null && !previousUpc.equals(updated.getUpc())) {
+            upcCache.put(previousUpc, VersionAwareCaffeineCache.retired(updated));
+        }
+        upcCache.put(updated.getUpc(), updated);
     }
 }
@@ -0,0 +1,12 @@
+package com.beerservice.services;
+
+import com.beerservice.web.model.BeerCatalogStatsDto;
+
+/**
+ * Beer counts, prices and restock counts per style, maintained in memory as beers and inventory change and
+ * periodically checked against the database.
+ */
+public interface BeerStatsService {
+
+    BeerCatalogStatsDto getStats();
+}
@@ -0,0 +1,129 @@
+package com.beerservice.services;
+
+import com.beerservice.events.BeerChangeEvent;
+import com.beerservice.repositories.BeerRepository;
+import com.beerservice.repositories.BeerStylePrice;
+import com.beerservice.repositories.BeerStyleSummary;
+import com.beerservice.web.model.BeerCatalogStatsDto;
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerStyleEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class BeerStatsServiceImpl implements BeerStatsService, BeerRestockListener {
+
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final BeerCatalogStats stats = new BeerCatalogStats();
+    private final Counter driftCounter;
+
+    public BeerStatsServiceImpl(BeerRepository beerRepository,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry) {
+        this.beerRepository = beerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.driftCounter = Counter.builder("beer.stats.drift")
+                .description("Styles whose statistics disagreed with the database when reconciled")
+                .register(meterRegistry);
+        meterRegistry.gauge("beer.stats.tracked", stats, BeerCatalogStats::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long changesBefore = stats.catalogChanges();
+        Set<UUID> present = new HashSet<>();
+        transactionTemplate.execute(status -> {
+            try (Stream<BeerStylePrice> beers = beerRepository.streamAllStylesAndPrices()) {
+                beers.forEach(beer -> {
+                    present.add(beer.getId());
+                    stats.load(beer.getId(), beer.getVersion(), style(beer.getBeerStyle()), beer.getPrice());
+                });
+            }
+            return null;
+        });
+        stats.retainAll(present, changesBefore);
+        log.info("Computed statistics for {} beers", present.size());
+    }
+
+    @TransactionalEventListener
+    public void onBeerChanged(BeerChangeEvent event) {
+        BeerDto beer = event.getBeer();
+        stats.apply(event.getBeerId(), event.getBeerVersion(), beer.getBeerStyle(), beer.getPrice());
+    }
+
+    @Override
+    public void restockNeededChanged(UUID beerId, boolean restockNeeded) {
+        stats.setRestockNeeded(beerId, restockNeeded);
+    }
+
+    @Override
+    public BeerCatalogStatsDto getStats() {
+        return stats.snapshot();
+    }
+
+    /**
+     * Compares the statistics with an aggregate query and recomputes them when they disagree, which catches
+     * rows written around the service and any change event that was missed. A round is skipped when beers
+     * changed while the query ran, since the two could not be compared.
+     */
+    @Scheduled(fixedDelayString = "${beer.stats.reconcile-interval:600000}",
+            initialDelayString = "${beer.stats.reconcile-interval:600000}")
+    public void reconcile() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome;
+        long changesBefore = stats.catalogChanges();
+        List<BeerStyleSummary> summaries = transactionTemplate.execute(status -> beerRepository.summarizeByStyle());
+        if (stats.catalogChanges() != changesBefore) {
+            outcome = "skipped";
+        } else {
+            Map<BeerStyleEnum, BeerStyleSummary> persisted = new EnumMap<>(BeerStyleEnum.class);
+            summaries.forEach(summary -> {
+                BeerStyleEnum style = style(summary.getBeerStyle());
+                if (style != null) {
+                    persisted.put(style, summary);
+                }
+            });
+            List<BeerStyleEnum> drifted = stats.differences(persisted);
+            if (drifted.isEmpty()) {
+                outcome = "in_sync";
+            } else {
+                log.warn("Statistics for {} disagreed with the database, recomputing", drifted);
+                driftCounter.increment(drifted.size());
+                load();
+                outcome = "recomputed";
+            }
+        }
+        sample.stop(Timer.builder("beer.stats.reconcile")
+                .description("Time to check the statistics against the database")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private static BeerStyleEnum style(String beerStyle) {
+        try {
+            return beerStyle == null ? null : BeerStyleEnum.valueOf(beerStyle);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
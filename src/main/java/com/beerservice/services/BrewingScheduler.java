@@ -0,0 +1,244 @@
+package com.beerservice.services;
+
+import com.beerservice.events.BrewBeerEvent;
+import com.beerservice.events.BrewBeerEventSink;
+import com.beerservice.repositories.BeerBrewingSettings;
+import com.beerservice.repositories.BeerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically pages through beers that have a minimum on hand and asks for {@code quantityToBrew} of each one
+ * whose inventory has fallen below it. Pages are read one at a time on the scheduling thread, so a scan holds
+ * at most one connection. Each page is checked against the in-memory inventory and published by a small
+ * worker pool. When the workers and their queue are full, the scanning thread waits for room, which throttles
+ * reading to the speed of publishing, but no longer than the scan's budget allows. Pages that find no room in time,
+ * or are still unpublished when the budget runs out, are dropped and counted in {@code beer.brewing.pages.dropped};
+ * their beers are checked again by a later scan. A beer is not asked for again until it has been back above its minimum
+ * or the reorder interval has passed.
+ *
+ * <p>A scan that runs out of its budget leaves off where it stopped, and the next one carries on from there,
+ * starting over from the first beer once a scan has reached the last. Beers past what one budget covers are
+ * therefore checked every few cycles rather than never.
+ */
+@Slf4j
+@Component
+public class BrewingScheduler {
+
+    // ids compare as unsigned bytes, so the all-zero UUID sorts first
+    private static final UUID BEFORE_FIRST_ID = new UUID(0L, 0L);
+
+    private final BeerRepository beerRepository;
+    private final BeerInventoryService beerInventoryService;
+    private final BrewBeerEventSink brewBeerEventSink;
+    private final int pageSize;
+    private final Duration scanBudget;
+    private final long reorderIntervalMillis;
+    private final ThreadPoolExecutor workers;
+    private final MeterRegistry meterRegistry;
+    private final Counter brewRequests;
+    private final Counter pagesDropped;
+
+    private final AtomicBoolean scanning = new AtomicBoolean();
+    private final AtomicLong scanIds = new AtomicLong();
+    private volatile UUID resumeAfterId = BEFORE_FIRST_ID;
+    private final ConcurrentHashMap<UUID, Long> requestedAt = new ConcurrentHashMap<>();
+
+    public BrewingScheduler(BeerRepository beerRepository,
+                            BeerInventoryService beerInventoryService,
+                            BrewBeerEventSink brewBeerEventSink,
+                            MeterRegistry meterRegistry,
+                            @Value("${beer.brewing.page-size:1000}") int pageSize,
+                            @Value("${beer.brewing.workers:2}") int workerCount,
+                            @Value("${beer.brewing.queue-capacity:4}") int queueCapacity,
+                            @Value("${beer.brewing.scan-budget:30s}") Duration scanBudget,
+                            @Value("${beer.brewing.reorder-interval:1h}") Duration reorderInterval) {
+        this.beerRepository = beerRepository;
+        this.beerInventoryService = beerInventoryService;
+        this.brewBeerEventSink = brewBeerEventSink;
+        this.pageSize = pageSize;
+        this.scanBudget = scanBudget;
+        this.reorderIntervalMillis = reorderInterval.toMillis();
+        this.meterRegistry = meterRegistry;
+        this.brewRequests = meterRegistry.counter("beer.brewing.requests");
+        this.pagesDropped = meterRegistry.counter("beer.brewing.pages.dropped");
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "brewing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${beer.brewing.interval:300000}", initialDelayString = "${beer.brewing.interval:300000}")
+    public void scheduledScan() {
+        scan();
+    }
+
+    /**
+     * Runs one scan cycle, or returns null when another cycle is still running.
+     */
+    public BrewingScan scan() {
+        if (!scanning.compareAndSet(false, true)) {
+            return null;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            BrewingScan result = runScan(scanIds.incrementAndGet());
+            sample.stop(meterRegistry.timer("beer.brewing.scan", "outcome", result.isComplete() ? "COMPLETE" : "OVER_BUDGET"));
+            if (!result.isComplete()) {
+                log.warn("Brewing scan {} ran out of its {} budget after {} beers", result.getScanId(), scanBudget,
+                        result.getBeersChecked());
+            }
+            return result;
+        } finally {
+            scanning.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private BrewingScan runScan(long scanId) {
+        long deadline = System.nanoTime() + scanBudget.toNanos();
+        List<Future<Integer>> published = new ArrayList<>();
+        UUID afterId = resumeAfterId;
+        int beersChecked = 0;
+        boolean complete = true;
+
+        while (true) {
+            if (System.nanoTime() - deadline > 0) {
+                complete = false;
+                break;
+            }
+            List<BeerBrewingSettings> page = beerRepository.findBrewingSettingsAfter(afterId, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) {
+                afterId = BEFORE_FIRST_ID;
+                break;
+            }
+            FutureTask<Integer> task = new FutureTask<>(() -> publishBrewingNeeds(scanId, page));
+            if (!enqueue(task, deadline)) {
+                pagesDropped.increment();
+                complete = false;
+                break;
+            }
+            published.add(task);
+            beersChecked += page.size();
+            afterId = page.get(page.size() - 1).getId();
+            if (page.size() < pageSize) {
+                afterId = BEFORE_FIRST_ID;
+                break;
+            }
+        }
+        resumeAfterId = afterId;
+
+        int brewRequested = 0;
+        for (Future<Integer> page : published) {
+            try {
+                brewRequested += page.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                complete = false;
+                if (page.cancel(true)) {
+                    pagesDropped.increment();
+                }
+            } catch (ExecutionException e) {
+                // the beers of a failed page were not marked as requested, so the next pass over them retries them
+                log.warn("Publishing brewing requests of scan {} failed", scanId, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                complete = false;
+                break;
+            }
+        }
+        return new BrewingScan(scanId, beersChecked, brewRequested, complete);
+    }
+
+    /**
+     * Hands the page to the workers, waiting until the deadline for a free place in the queue. The scanning thread
+     * never publishes the page itself, which would hold up the other scheduled tasks sharing the scheduler.
+     */
+    private boolean enqueue(FutureTask<Integer> page, long deadline) {
+        try {
+            workers.execute(page);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // every worker is busy and the queue is full, or the pool is shut down
+        }
+        try {
+            return !workers.isShutdown()
+                    && workers.getQueue().offer(page, Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private int publishBrewingNeeds(long scanId, List<BeerBrewingSettings> page) {
+        long now = System.currentTimeMillis();
+        List<BrewBeerEvent> events = new ArrayList<>();
+        for (BeerBrewingSettings beer : page) {
+            int quantityOnHand = beerInventoryService.getQuantityOnHand(beer.getId());
+            if (quantityOnHand >= beer.getMinOnHand() || beer.getQuantityToBrew() == null || beer.getQuantityToBrew() <= 0) {
+                requestedAt.remove(beer.getId());
+                continue;
+            }
+            Long lastRequested = requestedAt.get(beer.getId());
+            if (lastRequested != null && now - lastRequested < reorderIntervalMillis) {
+                continue;
+            }
+            events.add(BrewBeerEvent.builder()
+                    .scanId(scanId)
+                    .beerId(beer.getId())
+                    .quantityOnHand(quantityOnHand)
+                    .minOnHand(beer.getMinOnHand())
+                    .quantityToBrew(beer.getQuantityToBrew())
+                    .build());
+        }
+        if (!events.isEmpty()) {
+            brewBeerEventSink.publish(events);
+            events.forEach(event -> requestedAt.put(event.getBeerId(), now));
+            brewRequests.increment(events.size());
+        }
+        return events.size();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BrewingScan {
+        private final long scanId;
+        private final int beersChecked;
+        private final int brewRequested;
+        private final boolean complete;
+    }
+}
@@ -1,35 +1,182 @@
 package com.beerservice.web.controller;
 
 import com.beerservice.MsscBeerServiceApplication;
+import com.beerservice.services.BeerInventoryService;
+import com.beerservice.services.BeerSearchService;
 import com.beerservice.services.BeerService;
+import com.beerservice.services.BeerStatsService;
+import com.beerservice.web.controller.exception.BadRequestException;
+import com.beerservice.web.model.BeerBulkResult;
+import com.beerservice.web.model.BeerCatalogStatsDto;
 import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerExportFormat;
+import com.beerservice.web.model.BeerInventoryAdjustment;
+import com.beerservice.web.model.BeerInventoryDto;
+import com.beerservice.web.model.BeerPagedList;
+import com.beerservice.web.model.BeerStyleEnum;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
+import static com.beerservice.web.constant.WebConstants.APPLICATION_CBOR_VALUE;
+import static com.beerservice.web.constant.WebConstants.APPLICATION_MERGE_PATCH_JSON_VALUE;
+import static com.beerservice.web.constant.WebConstants.APPLICATION_NDJSON_VALUE;
+import static com.beerservice.web.constant.WebConstants.APPLICATION_SMILE_VALUE;
 import static com.beerservice.web.constant.WebConstants.BEER_ENDPOINT;
+import static com.beerservice.web.constant.WebConstants.TEXT_CSV_VALUE;
 
+@Profile("!reactive")
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(BEER_ENDPOINT)
 public class BeerController {
 
+    private static final int DEFAULT_PAGE_NUMBER = 0;
+    private static final int DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final long MAX_OFFSET = 10_000;
+    private static final Sort DEFAULT_SORT = Sort.by("createdDate", "id");
+    private static final int MAX_UPC_LOOKUP = 1000;
+
     private final BeerService beerService;
+    private final BeerInventoryService beerInventoryService;
+    private final BeerSearchService beerSearchService;
+    private final BeerStatsService beerStatsService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping
+    public ResponseEntity<BeerPagedList> listBeers(@RequestParam(value = "pageNumber", required = false) Integer pageNumber,
+                                                   @RequestParam(value = "pageSize", required = false) Integer pageSize,
+                                                   @RequestParam(value = "beerName", required = false) String beerName,
+                                                   @RequestParam(value = "beerStyle", required = false) BeerStyleEnum beerStyle,
+                                                   @RequestParam(value = "keyset", defaultValue = "false") boolean keyset,
+                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                   @RequestParam(value = "showInventoryOnHand", defaultValue = "false") boolean showInventoryOnHand) {
+        if (pageNumber == null || pageNumber < 0) {
+            pageNumber = DEFAULT_PAGE_NUMBER;
+        }
+        if (pageSize == null || pageSize < 1) {
+            pageSize = DEFAULT_PAGE_SIZE;
+        } else if (pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("pageSize must be at most " + MAX_PAGE_SIZE);
+        }
+        if (!keyset && cursor == null && (long) pageNumber * pageSize > MAX_OFFSET) {
+            throw new BadRequestException("Pages start at most " + MAX_OFFSET + " beers in; page further with keyset=true and the returned cursor");
+        }
+
+        BeerPagedList beerList = keyset || cursor != null
+                ? beerService.listBeersAfter(beerName, beerStyle, cursor, pageSize)
+                : beerService.listBeers(beerName, beerStyle, PageRequest.of(pageNumber, pageSize, DEFAULT_SORT));
+        if (showInventoryOnHand) {
+            beerList = beerInventoryService.withQuantityOnHand(beerList);
+        }
+
+        return new ResponseEntity<>(beerList, HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<BeerPagedList> searchBeers(@RequestParam("q") String query,
+                                                     @RequestParam(value = "beerStyle", required = false) BeerStyleEnum beerStyle,
+                                                     @RequestParam(value = "pageNumber", required = false) Integer pageNumber,
+                                                     @RequestParam(value = "pageSize", required = false) Integer pageSize,
+                                                     @RequestParam(value = "showInventoryOnHand", defaultValue = "false") boolean showInventoryOnHand) {
+        if (query.trim().isEmpty()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        if (pageNumber == null || pageNumber < 0) {
+            pageNumber = DEFAULT_PAGE_NUMBER;
+        }
+        if (pageSize == null || pageSize < 1) {
+            pageSize = DEFAULT_PAGE_SIZE;
+        } else if (pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("pageSize must be at most " + MAX_PAGE_SIZE);
+        }
+        if ((long) pageNumber * pageSize > MAX_OFFSET) {
+            throw new BadRequestException("Search pages start at most " + MAX_OFFSET + " matches in");
+        }
+
+        BeerPagedList beerList = beerSearchService.search(query, beerStyle, PageRequest.of(pageNumber, pageSize));
+        if (showInventoryOnHand) {
+            beerList = beerInventoryService.withQuantityOnHand(beerList);
+        }
+
+        return new ResponseEntity<>(beerList, HttpStatus.OK);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<BeerCatalogStatsDto> getStats() {
+        return new ResponseEntity<>(beerStatsService.getStats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    public void exportBeers(@RequestParam(value = "format", defaultValue = "NDJSON") BeerExportFormat format,
+                            @RequestParam(value = "updatedSince", required = false)
+                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime updatedSince,
+                            HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(format == BeerExportFormat.CSV ? TEXT_CSV_VALUE : APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        beerService.exportBeers(updatedSince, format, response.getOutputStream());
+    }
 
     @GetMapping("/{beerId}")
-    public ResponseEntity<BeerDto> getBeerById(@PathVariable UUID beerId) {
-        return new ResponseEntity<>(beerService.getById(beerId), HttpStatus.OK);
+    public ResponseEntity<BeerDto> getBeerById(@PathVariable UUID beerId,
+                                               @RequestParam(value = "showInventoryOnHand", defaultValue = "false") boolean showInventoryOnHand) {
+        // a matching If-None-Match is answered 304 by Spring before the body is written
+        return withInventory(beerService.getById(beerId), showInventoryOnHand);
+    }
+
+    @GetMapping("/upc/{upc}")
+    public ResponseEntity<BeerDto> getBeerByUpc(@PathVariable String upc,
+                                                @RequestParam(value = "showInventoryOnHand", defaultValue = "false") boolean showInventoryOnHand) {
+        return withInventory(beerService.getByUpc(upc), showInventoryOnHand);
+    }
+
+    @PostMapping("/{beerId}/inventory")
+    public ResponseEntity<BeerInventoryDto> adjustInventory(@PathVariable UUID beerId,
+                                                            @Valid @RequestBody BeerInventoryAdjustment adjustment) {
+        return new ResponseEntity<>(beerInventoryService.adjustInventory(beerId, adjustment.getQuantityDelta()), HttpStatus.OK);
+    }
+
+    @GetMapping("/inventory/below-min-on-hand")
+    public ResponseEntity<List<BeerInventoryDto>> listBeersBelowMinOnHand() {
+        return new ResponseEntity<>(beerInventoryService.listBelowMinOnHand(), HttpStatus.OK);
+    }
+
+    @PostMapping("/upc/lookup")
+    public ResponseEntity<List<BeerDto>> getBeersByUpc(@RequestBody List<String> upcs) {
+        if (upcs.size() > MAX_UPC_LOOKUP) {
+            throw new BadRequestException("At most " + MAX_UPC_LOOKUP + " UPCs can be looked up at once");
+        }
+        return new ResponseEntity<>(beerService.getByUpcs(upcs), HttpStatus.OK);
     }
 
     @PostMapping
@@ -40,7 +187,40 @@ public class BeerController {
 
     @PutMapping("/{beerId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public ResponseEntity<BeerDto> updateBeerById(@PathVariable UUID beerId, @Valid @RequestBody BeerDto beerDto) {
-        return new ResponseEntity<>(beerService.updateBeer(beerId, beerDto), HttpStatus.OK);
+    public ResponseEntity<Void> updateBeerById(@PathVariable UUID beerId,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               @Valid @RequestBody BeerDto beerDto) {
+        return BeerETags.noContent(beerService.updateBeer(beerId, beerDto, BeerETags.expectedVersion(ifMatch)));
+    }
+
+    @PatchMapping(path = "/{beerId}", consumes = {APPLICATION_MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchBeerById(@PathVariable UUID beerId,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              @RequestBody JsonNode patch) {
+        return BeerETags.noContent(beerService.patchBeer(beerId, BeerMergePatch.toBeerDto(patch, objectMapper),
+                BeerETags.expectedVersion(ifMatch)));
+    }
+
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<BeerBulkResult>> saveOrUpdateBeers(@RequestBody List<BeerDto> beerDtos) {
+        return new ResponseEntity<>(beerService.saveOrUpdateBeers(beerDtos), HttpStatus.OK);
+    }
+
+    @PostMapping(path = "/bulk", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BeerBulkResult>> saveOrUpdateBeersNdjson(InputStream body) {
+        List<BeerDto> beerDtos;
+        try (MappingIterator<BeerDto> lines = objectMapper.readerFor(BeerDto.class).readValues(body)) {
+            beerDtos = lines.readAll();
+        } catch (IOException e) {
+            throw new BadRequestException("Malformed NDJSON body");
+        }
+        return new ResponseEntity<>(beerService.saveOrUpdateBeers(beerDtos), HttpStatus.OK);
+    }
+
+    private ResponseEntity<BeerDto> withInventory(BeerDto beerDto, boolean showInventoryOnHand) {
+        // the version-based ETag does not cover quantity on hand, so that representation goes out untagged
+        return showInventoryOnHand
+                ? new ResponseEntity<>(beerInventoryService.withQuantityOnHand(beerDto), HttpStatus.OK)
+                : BeerETags.ok(beerDto);
     }
 }
@@ -0,0 +1,49 @@
+package com.beerservice.web.controller;
+
+import com.beerservice.web.controller.exception.PreconditionFailedException;
+import com.beerservice.web.model.BeerDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Strong entity tags derived from the beer version, e.g. {@code "3"}.
+ */
+final class BeerETags {
+
+    private BeerETags() {
+    }
+
+    static ResponseEntity<BeerDto> ok(BeerDto beerDto) {
+        return withETag(ResponseEntity.ok(), beerDto).body(beerDto);
+    }
+
+    static ResponseEntity<Void> noContent(BeerDto beerDto) {
+        return withETag(ResponseEntity.status(HttpStatus.NO_CONTENT), beerDto).build();
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, BeerDto beerDto) {
+        return beerDto.getVersion() == null ? builder : builder.eTag("\"" + beerDto.getVersion() + "\"");
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header asks for, or null when the header is absent or {@code *}.
+     * Weak or unparseable tags can never match strongly, so they fail the precondition.
+     */
+    static Integer expectedVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if ("*".equals(tag)) {
+            return null;
+        }
+        if (tag.length() > 2 && tag.charAt(0) == '"' && tag.charAt(tag.length() - 1) == '"') {
+            try {
+                return Integer.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                throw new PreconditionFailedException();
+            }
+        }
+        throw new PreconditionFailedException();
+    }
+}
@@ -0,0 +1,46 @@
+package com.beerservice.web.controller;
+
+import com.beerservice.web.controller.exception.BadRequestException;
+import com.beerservice.web.model.BeerDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a JSON Merge Patch (RFC 7396) into a {@link BeerDto} whose null fields mean "unchanged". Removing a
+ * field with {@code null} is rejected, since the others are required and {@code minOnHand} is cleared with 0,
+ * as are read-only fields.
+ */
+final class BeerMergePatch {
+
+    private static final List<String> PATCHABLE_FIELDS = Arrays.asList("beerName", "beerStyle", "upc", "price",
+            "minOnHand");
+
+    private BeerMergePatch() {
+    }
+
+    static BeerDto toBeerDto(JsonNode patch, ObjectMapper objectMapper) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("Merge patch must be a JSON object");
+        }
+        for (Iterator<Map.Entry<String, JsonNode>> fields = patch.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!PATCHABLE_FIELDS.contains(field.getKey())) {
+                throw new BadRequestException(field.getKey() + " cannot be patched");
+            }
+            if (field.getValue().isNull()) {
+                throw new BadRequestException(field.getKey() + " cannot be removed");
+            }
+        }
+        try {
+            return objectMapper.treeToValue(patch, BeerDto.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed merge patch");
+        }
+    }
+}
@@ -1,21 +1,82 @@
 package com.beerservice.web.controller;
 
+import com.beerservice.web.controller.exception.BadRequestException;
+import com.beerservice.web.controller.exception.NotFoundException;
+import com.beerservice.web.controller.exception.PreconditionFailedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import javax.validation.ConstraintViolationException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+@RequiredArgsConstructor
 @ControllerAdvice
 public class MvcExceptionHandler {
 
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
     @ExceptionHandler({ConstraintViolationException.class})
     public ResponseEntity<List<String>> handleValidationError(ConstraintViolationException e) {
+        countError("validation");
         List<String> errorList = new ArrayList<>(e.getConstraintViolations().size());
         e.getConstraintViolations().forEach(error -> errorList.add(error.toString()));
         return new ResponseEntity<>(errorList, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler({MethodArgumentNotValidException.class})
+    public ResponseEntity<List<String>> handleInvalidBody(MethodArgumentNotValidException e) {
+        countError("validation");
+        List<String> errorList = new ArrayList<>(e.getBindingResult().getErrorCount());
+        e.getBindingResult().getFieldErrors().forEach(error ->
+                errorList.add(error.getField() + " " + error.getDefaultMessage()));
+        e.getBindingResult().getGlobalErrors().forEach(error -> errorList.add(error.getDefaultMessage()));
+        return new ResponseEntity<>(errorList, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({HttpMessageNotReadableException.class})
+    public ResponseEntity<List<String>> handleUnreadableBody(HttpMessageNotReadableException e) {
+        countError("bad_request");
+        return new ResponseEntity<>(Collections.singletonList("Malformed request body"), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({HttpMediaTypeNotSupportedException.class})
+    public ResponseEntity<Void> handleUnsupportedMediaType(HttpMediaTypeNotSupportedException e) {
+        countError("unsupported_media_type");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(e.getSupportedMediaTypes());
+        return new ResponseEntity<>(headers, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    @ExceptionHandler({BadRequestException.class})
+    public ResponseEntity<List<String>> handleBadRequest(BadRequestException e) {
+        countError("bad_request");
+        return new ResponseEntity<>(Collections.singletonList(e.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({NotFoundException.class})
+    public ResponseEntity<Void> handleNotFound(NotFoundException e) {
+        countError("not_found");
+        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler({PreconditionFailedException.class})
+    public ResponseEntity<Void> handlePreconditionFailed(PreconditionFailedException e) {
+        countError("precondition_failed");
+        return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    private void countError(String reason) {
+        meterRegistry.ifAvailable(registry -> registry.counter("beer.api.errors", "reason", reason).increment());
+    }
 }
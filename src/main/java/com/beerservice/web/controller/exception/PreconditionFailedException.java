@@ -0,0 +1,5 @@
+package com.beerservice.web.controller.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+}
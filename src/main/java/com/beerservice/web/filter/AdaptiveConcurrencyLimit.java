@@ -0,0 +1,94 @@
+package com.beerservice.web.filter;
+
+/**
+ * A concurrency limit that follows repository latency, in the manner of a gradient limiter. Samples are averaged
+ * over short windows; each window is compared with a long-term average that stands in for the latency of an
+ * unloaded database. While the two agree the limit grows by about its square root per window, and once the
+ * recent latency exceeds the long-term one by more than {@link #TOLERANCE} the limit shrinks in proportion.
+ * Failed calls that point at an overloaded database (timeouts, no connection) cut the limit multiplicatively.
+ *
+ * <p>Windows in which fewer than half the permitted requests were in flight leave the limit alone, since they
+ * say nothing about what a higher limit would do.
+ */
+class AdaptiveConcurrencyLimit {
+
+    static final double TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF = 0.9;
+    private static final int LONG_WINDOWS = 100;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+
+    private double estimate;
+    private volatile int limit;
+    private double longRtt;
+    private long windowStart;
+    private long windowTotalNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long windowNanos, long now) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowNanos;
+        this.estimate = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimate;
+        this.windowStart = now;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    synchronized double getLongRttNanos() {
+        return longRtt;
+    }
+
+    /**
+     * Records one repository call that took {@code rttNanos} while {@code inFlight} requests were admitted.
+     */
+    synchronized void sample(long rttNanos, int inFlight, long now) {
+        windowTotalNanos += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        if (now - windowStart < windowNanos || windowSamples < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+        update((double) windowTotalNanos / windowSamples, windowMaxInFlight);
+        windowStart = now;
+        windowTotalNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+    }
+
+    synchronized void dropped() {
+        setEstimate(estimate * BACKOFF);
+    }
+
+    private void update(double shortRtt, int inFlight) {
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) / LONG_WINDOWS;
+            // after a sustained improvement the long average would otherwise take many windows to come down
+            if (longRtt > 2 * shortRtt) {
+                longRtt *= 0.95;
+            }
+        }
+        if (inFlight < estimate / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double target = estimate * gradient + Math.sqrt(estimate);
+        setEstimate(estimate * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    private void setEstimate(double value) {
+        estimate = Math.max(minLimit, Math.min(maxLimit, value));
+        limit = (int) estimate;
+    }
+}
@@ -0,0 +1,138 @@
+package com.beerservice.web.filter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.beerservice.web.constant.WebConstants.BEER_ENDPOINT;
+
+/**
+ * Admits beer API requests up to an {@link AdaptiveConcurrencyLimit} driven by database latency, as sampled by
+ * {@link DatabaseLatencySampler}, and answers the rest at once with 503 and {@code Retry-After} rather than
+ * letting them queue for servlet threads and connections. Writes may use the whole limit; reads stop at
+ * {@code beer.admission.write-reserve} short of it, so under overload reads are shed first and writes still get
+ * through.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(value = "beer.admission.enabled", havingValue = "true", matchIfMissing = true)
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    enum Priority {
+        READ, WRITE
+    }
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final double writeReserve;
+    private final String retryAfterSeconds;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger[] inFlightByPriority = {new AtomicInteger(), new AtomicInteger()};
+    private final AtomicLong[] rejectedByPriority = {new AtomicLong(), new AtomicLong()};
+
+    public AdmissionControlFilter(@Value("${beer.admission.initial-limit:20}") int initialLimit,
+                                  @Value("${beer.admission.min-limit:4}") int minLimit,
+                                  @Value("${beer.admission.max-limit:200}") int maxLimit,
+                                  @Value("${beer.admission.write-reserve:0.2}") double writeReserve,
+                                  @Value("${beer.admission.retry-after:1s}") Duration retryAfter) {
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, WINDOW_NANOS, System.nanoTime());
+        this.writeReserve = writeReserve;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.getSeconds()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("beer.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Concurrent beer API requests currently admitted at most")
+                .register(registry);
+        for (Priority priority : Priority.values()) {
+            Gauge.builder("beer.admission.in.flight", inFlightByPriority[priority.ordinal()], AtomicInteger::get)
+                    .description("Admitted beer API requests being processed")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(registry);
+            FunctionCounter.builder("beer.admission.rejected", rejectedByPriority[priority.ordinal()],
+                    AtomicLong::get)
+                    .description("Beer API requests turned away with 503")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + BEER_ENDPOINT);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Priority priority = priorityOf(request.getMethod());
+        if (!tryAcquire(priority)) {
+            rejectedByPriority[priority.ordinal()].incrementAndGet();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlightByPriority[priority.ordinal()].decrementAndGet();
+            inFlight.decrementAndGet();
+        }
+    }
+
+    boolean tryAcquire(Priority priority) {
+        int cap = priority == Priority.WRITE
+                ? limit.getLimit() : Math.max(1, (int) (limit.getLimit() * (1 - writeReserve)));
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= cap) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        inFlightByPriority[priority.ordinal()].incrementAndGet();
+        return true;
+    }
+
+    AdaptiveConcurrencyLimit getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    static Priority priorityOf(String method) {
+        switch (method) {
+            case "POST":
+            case "PUT":
+            case "PATCH":
+            case "DELETE":
+                return Priority.WRITE;
+            default:
+                return Priority.READ;
+        }
+    }
+}
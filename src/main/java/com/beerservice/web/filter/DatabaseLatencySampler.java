@@ -0,0 +1,59 @@
+package com.beerservice.web.filter;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Feeds the {@link AdmissionControlFilter}'s limit with database latency. It samples each outermost
+ * {@code BeerRepository} call, ahead of the database guard, and each connection taken from the pool outside one,
+ * so time spent queueing for a connection counts as the database slowing down. The latter covers
+ * {@code @Transactional} methods and {@code TransactionTemplate}s, which take their connection before any
+ * repository call. A call that found no connection in time cuts the limit.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(value = "beer.admission.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Component
+public class DatabaseLatencySampler {
+
+    private final AdmissionControlFilter admissionControlFilter;
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Around("this(com.beerservice.repositories.BeerRepository)"
+            + " || this(javax.sql.DataSource) && execution(* getConnection(..))")
+    public Object sample(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] nesting = depth.get();
+        if (nesting[0] > 0) {
+            return joinPoint.proceed();
+        }
+        AdaptiveConcurrencyLimit limit = admissionControlFilter.getLimit();
+        nesting[0]++;
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            long now = System.nanoTime();
+            limit.sample(now - start, admissionControlFilter.getInFlight(), now);
+            return result;
+        } catch (CannotCreateTransactionException | DataAccessResourceFailureException
+                | TransientDataAccessException | SQLTransientConnectionException e) {
+            limit.dropped();
+            throw e;
+        } finally {
+            nesting[0]--;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.beerservice.web.filter;
+
+import com.beerservice.config.ReadRouting;
+import com.beerservice.events.BeerChangeEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Gives a client read-your-writes on top of replica routing. A request whose beer change commits stamps the
+ * client with a cookie, and the client's reads go to the primary until
+ * {@code beer.datasource.read-your-writes-window} has passed, which should cover the replicas' worst lag.
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty("beer.datasource.replicas")
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String LAST_WRITE_COOKIE = "beer-last-write";
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(@Value("${beer.datasource.read-your-writes-window:5s}") Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (System.currentTimeMillis() - lastWrite(request) < windowMillis) {
+            ReadRouting.requirePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRouting.clear();
+        }
+    }
+
+    /**
+     * Runs on the request thread right after the service's transaction commits, before the controller has
+     * written the response, so the cookie still makes it into the headers.
+     */
+    @TransactionalEventListener
+    public void onBeerChanged(BeerChangeEvent event) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)
+                || attributes.getAttribute(LAST_WRITE_COOKIE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(System.currentTimeMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, windowMillis / 1000));
+            response.addCookie(cookie);
+        }
+        attributes.setAttribute(LAST_WRITE_COOKIE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        ReadRouting.requirePrimary();
+    }
+
+    private static long lastWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
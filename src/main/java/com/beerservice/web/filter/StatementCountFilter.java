@@ -0,0 +1,47 @@
+package com.beerservice.web.filter;
+
+import com.beerservice.repositories.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Component
+public class StatementCountFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private volatile MeterRegistry registry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int before = StatementCounter.current();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MeterRegistry meterRegistry = registry;
+            if (meterRegistry != null) {
+                Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("beer.http.server.statements")
+                        .description("SQL statements prepared while serving a request")
+                        .tags("method", request.getMethod(), "uri", uri == null ? "UNKNOWN" : uri.toString())
+                        .register(meterRegistry)
+                        .record(StatementCounter.current() - before);
+            }
+        }
+    }
+}
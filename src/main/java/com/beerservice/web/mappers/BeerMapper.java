@@ -2,12 +2,34 @@ package com.beerservice.web.mappers;
 
 import com.beerservice.domain.Beer;
 import com.beerservice.web.model.BeerDto;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
-@Mapper(uses = DateMapper.class)
+// setters on a no-arg instance save the Lombok builder allocation per mapped beer
+@Mapper(uses = DateMapper.class, builder = @Builder(disableBuilder = true))
 public interface BeerMapper {
 
     BeerDto beerToBeerDto(Beer beer);
 
     Beer beerDtoToBeer(BeerDto beerDto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "minOnHand", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "quantityToBrew", ignore = true)
+    void updateBeerFromDto(BeerDto beerDto, @MappingTarget Beer beer);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "quantityToBrew", ignore = true)
+    void patchBeerFromDto(BeerDto beerDto, @MappingTarget Beer beer);
 }
@@ -3,27 +3,45 @@ package com.beerservice.web.mappers;
 import org.springframework.stereotype.Component;
 
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
 
+/**
+ * Timestamps hold wall-clock time in the JVM default zone, which the API presents as UTC. The conversions
+ * work on epoch seconds with the zone rules resolved once, so mapping a timestamp allocates nothing beyond
+ * the returned value (the default zone is assumed not to change at runtime).
+ */
 @Component
 public class DateMapper {
 
+    private static final long MILLIS_PER_SECOND = 1000;
+
+    private final ZoneRules zoneRules = ZoneId.systemDefault().getRules();
+    private final ZoneOffset fixedOffset = zoneRules.isFixedOffset() ? zoneRules.getOffset(Instant.EPOCH) : null;
+
     public OffsetDateTime asOffsetDateTime(Timestamp ts) {
         if (ts != null) {
-            return OffsetDateTime.of(ts.toLocalDateTime().getYear(), ts.toLocalDateTime().getMonthValue(),
-                    ts.toLocalDateTime().getDayOfMonth(), ts.toLocalDateTime().getHour(), ts.toLocalDateTime().getMinute(),
-                    ts.toLocalDateTime().getSecond(), ts.toLocalDateTime().getNano(), ZoneOffset.UTC);
+            long epochSecond = Math.floorDiv(ts.getTime(), MILLIS_PER_SECOND);
+            ZoneOffset offset = fixedOffset != null ? fixedOffset : zoneRules.getOffset(Instant.ofEpochSecond(epochSecond));
+            return OffsetDateTime.of(LocalDateTime.ofEpochSecond(epochSecond, ts.getNanos(), offset), ZoneOffset.UTC);
         } else {
-            throw new IllegalArgumentException("Timestamp cannot be null");
+            return null;
         }
     }
 
     public Timestamp asTimeStamp(OffsetDateTime offsetDateTime) {
         if (offsetDateTime != null) {
-            return Timestamp.valueOf(offsetDateTime.toLocalDateTime());
+            LocalDateTime localDateTime = offsetDateTime.toLocalDateTime();
+            ZoneOffset offset = fixedOffset != null ? fixedOffset : zoneRules.getOffset(localDateTime);
+            Timestamp ts = new Timestamp(localDateTime.toEpochSecond(offset) * MILLIS_PER_SECOND);
+            ts.setNanos(localDateTime.getNano());
+            return ts;
         } else {
-            throw new IllegalArgumentException("OffsetDateTime cannot be null");
+            return null;
         }
     }
 
@@ -0,0 +1,28 @@
+package com.beerservice.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerBulkResult {
+
+    private int index;
+
+    private String upc;
+
+    private BeerBulkStatus status;
+
+    private UUID id;
+
+    private Integer version;
+
+    private List<String> errors;
+}
@@ -0,0 +1,8 @@
+package com.beerservice.web.model;
+
+public enum BeerBulkStatus {
+    CREATED,
+    UPDATED,
+    INVALID,
+    CONFLICT
+}
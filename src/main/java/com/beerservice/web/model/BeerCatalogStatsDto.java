@@ -0,0 +1,21 @@
+package com.beerservice.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerCatalogStatsDto {
+
+    private long beerCount;
+
+    private long restockNeeded;
+
+    private List<BeerStyleStatsDto> styles;
+}
@@ -0,0 +1,6 @@
+package com.beerservice.web.model;
+
+public enum BeerExportFormat {
+    NDJSON,
+    CSV
+}
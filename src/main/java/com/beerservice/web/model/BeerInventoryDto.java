@@ -0,0 +1,21 @@
+package com.beerservice.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerInventoryDto {
+
+    private UUID beerId;
+
+    private Integer quantityOnHand;
+
+    private Integer minOnHand;
+}
@@ -11,6 +11,8 @@ import java.util.List;
 
 public class BeerPagedList extends PageImpl<BeerDto> {
 
+    private final String nextCursor;
+
     @JsonCreator()
     public BeerPagedList(@JsonProperty("content") List<BeerDto> content,
                          @JsonProperty("number") int number,
@@ -21,16 +23,45 @@ public class BeerPagedList extends PageImpl<BeerDto> {
                          @JsonProperty("totalPages") int totalPages,
                          @JsonProperty("sort") JsonNode sort,
                          @JsonProperty("first") boolean first,
-                         @JsonProperty("numberOfElements") int numberOfElements) {
+                         @JsonProperty("numberOfElements") int numberOfElements,
+                         @JsonProperty("nextCursor") String nextCursor) {
 
         super(content, PageRequest.of(number, size), totalElements);
+        this.nextCursor = nextCursor;
     }
 
     public BeerPagedList(List<BeerDto> content, Pageable pageable, long total) {
+        this(content, pageable, total, null);
+    }
+
+    public BeerPagedList(List<BeerDto> content, Pageable pageable, long total, String nextCursor) {
         super(content, pageable, total);
+        this.nextCursor = nextCursor;
     }
 
     public BeerPagedList(List<BeerDto> content) {
         super(content);
+        this.nextCursor = null;
+    }
+
+    /**
+     * Position to resume a keyset scan from, or null when paging by offset or on the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Whether a further page exists. Keyset pages run no count, so for them it follows {@code nextCursor}.
+     */
+    @Override
+    @JsonProperty("hasNext")
+    public boolean hasNext() {
+        return nextCursor != null || super.hasNext();
+    }
+
+    @Override
+    public boolean isLast() {
+        return !hasNext();
     }
 }
@@ -0,0 +1,31 @@
+package com.beerservice.web.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerStyleStatsDto {
+
+    private BeerStyleEnum beerStyle;
+
+    private long beerCount;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal minPrice;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal avgPrice;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal maxPrice;
+
+    private long restockNeeded;
+}
@@ -0,0 +1,9 @@
+-- Moves beer ids written by releases that stored them as text (hex, with or without dashes) to binary(16).
+-- Existing ids keep their value, so URLs and cached references stay valid; rows created afterwards get
+-- time-ordered ids. Run it with the service stopped.
+UPDATE beer SET id = REPLACE(id, '-', '') WHERE id LIKE '%-%';
+UPDATE beer_inventory SET beer_id = REPLACE(beer_id, '-', '') WHERE beer_id LIKE '%-%';
+UPDATE beer_outbox_event SET beer_id = REPLACE(beer_id, '-', '') WHERE beer_id LIKE '%-%';
+ALTER TABLE beer ALTER COLUMN id BINARY(16) NOT NULL;
+ALTER TABLE beer_inventory ALTER COLUMN beer_id BINARY(16) NOT NULL;
+ALTER TABLE beer_outbox_event ALTER COLUMN beer_id BINARY(16) NOT NULL;
@@ -0,0 +1,43 @@
+package com.beerservice.services;
+
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerPagedList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBeerServiceImplTest {
+
+    @Mock
+    BeerService beerService;
+
+    @Test
+    void streamBeersFollowsCursorsUntilLastPage() {
+        BeerDto first = BeerDto.builder().beerName("first").build();
+        BeerDto second = BeerDto.builder().beerName("second").build();
+        BeerDto third = BeerDto.builder().beerName("third").build();
+        given(beerService.listBeersAfter(isNull(), isNull(), isNull(), anyInt())).willReturn(
+                new BeerPagedList(Arrays.asList(first, second), PageRequest.of(0, 2), 3, "next"));
+        given(beerService.listBeersAfter(isNull(), isNull(), eq("next"), anyInt())).willReturn(
+                new BeerPagedList(Collections.singletonList(third), PageRequest.of(0, 2), 1));
+
+        ReactiveBeerService reactiveBeerService = new ReactiveBeerServiceImpl(beerService, Schedulers.immediate());
+
+        StepVerifier.create(reactiveBeerService.streamBeers(null, null))
+                .expectNext(first, second, third)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,92 @@
+package com.beerservice.web.controllers;
+
+import com.beerservice.services.BeerInventoryService;
+import com.beerservice.services.ReactiveBeerService;
+import com.beerservice.web.controller.ReactiveBeerController;
+import com.beerservice.web.controller.exception.NotFoundException;
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.beerservice.bootstrap.BeerLoader.BEER_1_UPC;
+import static com.beerservice.web.constant.WebConstants.BEER_ENDPOINT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+
+@ActiveProfiles("reactive")
+@WebFluxTest(ReactiveBeerController.class)
+class ReactiveBeerControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockBean
+    ReactiveBeerService beerService;
+
+    @MockBean
+    BeerInventoryService beerInventoryService;
+
+    @Test
+    void getBeerById() {
+        given(beerService.getById(any())).willReturn(Mono.just(getValidBeerDto()));
+
+        webTestClient.get().uri(BEER_ENDPOINT + "/{beerId}", UUID.randomUUID())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.upc").isEqualTo(BEER_1_UPC);
+    }
+
+    @Test
+    void getUnknownBeerIsNotFound() {
+        given(beerService.getById(any())).willReturn(Mono.error(new NotFoundException()));
+
+        webTestClient.get().uri(BEER_ENDPOINT + "/{beerId}", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void streamBeersByStyle() {
+        given(beerService.streamBeers(isNull(), eq(BeerStyleEnum.ALE))).willReturn(Flux.just(getValidBeerDto()));
+
+        webTestClient.get().uri(BEER_ENDPOINT + "/stream?beerStyle=ALE")
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BeerDto.class).hasSize(1);
+    }
+
+    @Test
+    void saveNewBeer() {
+        given(beerService.saveNewBeer(any())).willReturn(Mono.just(getValidBeerDto()));
+
+        webTestClient.post().uri(BEER_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .syncBody(getValidBeerDto())
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    BeerDto getValidBeerDto() {
+        return BeerDto.builder()
+                .beerName("Beer name")
+                .beerStyle(BeerStyleEnum.ALE)
+                .upc(BEER_1_UPC)
+                .price(new BigDecimal(1))
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.beerservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Profile("reactive")
+@Configuration
+public class ReactiveConfig {
+
+    /**
+     * Blocking JPA calls are moved off the event loop onto as many threads as there are pooled connections,
+     * so extra requests wait in the scheduler queue instead of holding a thread each.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize,
+                runnable -> new Thread(runnable, "jdbc-" + threadNumber.incrementAndGet()));
+        return Schedulers.fromExecutorService(executor);
+    }
+}
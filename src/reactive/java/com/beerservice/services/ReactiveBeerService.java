@@ -0,0 +1,32 @@
+package com.beerservice.services;
+
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerPagedList;
+import com.beerservice.web.model.BeerStyleEnum;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveBeerService {
+
+    Mono<BeerPagedList> listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest);
+
+    Mono<BeerPagedList> listBeersAfter(String beerName, BeerStyleEnum beerStyle, String cursor, int pageSize);
+
+    /**
+     * Emits every matching beer, fetching keyset pages only as fast as the subscriber requests them.
+     */
+    Flux<BeerDto> streamBeers(String beerName, BeerStyleEnum beerStyle);
+
+    Mono<BeerDto> getById(UUID id);
+
+    Mono<BeerDto> getByUpc(String upc);
+
+    Mono<BeerDto> saveNewBeer(BeerDto beerDto);
+
+    Mono<BeerDto> updateBeer(UUID id, BeerDto beerDto, Integer expectedVersion);
+
+    Mono<BeerDto> patchBeer(UUID id, BeerDto patch, Integer expectedVersion);
+}
@@ -0,0 +1,78 @@
+package com.beerservice.services;
+
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerPagedList;
+import com.beerservice.web.model.BeerStyleEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Runs the blocking {@link BeerService} on the JDBC scheduler, so caching, transactions and validation behave
+ * exactly as on the servlet stack.
+ */
+@Profile("reactive")
+@RequiredArgsConstructor
+@Service
+public class ReactiveBeerServiceImpl implements ReactiveBeerService {
+
+    private static final int STREAM_PAGE_SIZE = 500;
+
+    private final BeerService beerService;
+    private final Scheduler jdbcScheduler;
+
+    @Override
+    public Mono<BeerPagedList> listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest) {
+        return blocking(() -> beerService.listBeers(beerName, beerStyle, pageRequest));
+    }
+
+    @Override
+    public Mono<BeerPagedList> listBeersAfter(String beerName, BeerStyleEnum beerStyle, String cursor, int pageSize) {
+        return blocking(() -> beerService.listBeersAfter(beerName, beerStyle, cursor, pageSize));
+    }
+
+    @Override
+    public Flux<BeerDto> streamBeers(String beerName, BeerStyleEnum beerStyle) {
+        return listBeersAfter(beerName, beerStyle, null, STREAM_PAGE_SIZE)
+                .expand(page -> page.getNextCursor() == null
+                        ? Mono.empty()
+                        : listBeersAfter(beerName, beerStyle, page.getNextCursor(), STREAM_PAGE_SIZE))
+                .concatMapIterable(BeerPagedList::getContent);
+    }
+
+    @Override
+    public Mono<BeerDto> getById(UUID id) {
+        return blocking(() -> beerService.getById(id));
+    }
+
+    @Override
+    public Mono<BeerDto> getByUpc(String upc) {
+        return blocking(() -> beerService.getByUpc(upc));
+    }
+
+    @Override
+    public Mono<BeerDto> saveNewBeer(BeerDto beerDto) {
+        return blocking(() -> beerService.saveNewBeer(beerDto));
+    }
+
+    @Override
+    public Mono<BeerDto> updateBeer(UUID id, BeerDto beerDto, Integer expectedVersion) {
+        return blocking(() -> beerService.updateBeer(id, beerDto, expectedVersion));
+    }
+
+    @Override
+    public Mono<BeerDto> patchBeer(UUID id, BeerDto patch, Integer expectedVersion) {
+        return blocking(() -> beerService.patchBeer(id, patch, expectedVersion));
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(jdbcScheduler);
+    }
+}
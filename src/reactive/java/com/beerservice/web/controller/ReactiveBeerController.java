@@ -0,0 +1,129 @@
+package com.beerservice.web.controller;
+
+import com.beerservice.services.BeerInventoryService;
+import com.beerservice.services.ReactiveBeerService;
+import com.beerservice.web.controller.exception.BadRequestException;
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerPagedList;
+import com.beerservice.web.model.BeerStyleEnum;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.util.UUID;
+
+import static com.beerservice.web.constant.WebConstants.APPLICATION_MERGE_PATCH_JSON_VALUE;
+import static com.beerservice.web.constant.WebConstants.BEER_ENDPOINT;
+
+@Profile("reactive")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(BEER_ENDPOINT)
+public class ReactiveBeerController {
+
+    private static final int DEFAULT_PAGE_NUMBER = 0;
+    private static final int DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final long MAX_OFFSET = 10_000;
+    private static final Sort DEFAULT_SORT = Sort.by("createdDate", "id");
+
+    private final ReactiveBeerService beerService;
+    private final BeerInventoryService beerInventoryService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping
+    public Mono<BeerPagedList> listBeers(@RequestParam(value = "pageNumber", required = false) Integer pageNumber,
+                                         @RequestParam(value = "pageSize", required = false) Integer pageSize,
+                                         @RequestParam(value = "beerName", required = false) String beerName,
+                                         @RequestParam(value = "beerStyle", required = false) BeerStyleEnum beerStyle,
+                                         @RequestParam(value = "keyset", defaultValue = "false") boolean keyset,
+                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "showInventoryOnHand", defaultValue = "false") boolean showInventoryOnHand) {
+        if (pageNumber == null || pageNumber < 0) {
+            pageNumber = DEFAULT_PAGE_NUMBER;
+        }
+        if (pageSize == null || pageSize < 1) {
+            pageSize = DEFAULT_PAGE_SIZE;
+        } else if (pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("pageSize must be at most " + MAX_PAGE_SIZE);
+        }
+        if (!keyset && cursor == null && (long) pageNumber * pageSize > MAX_OFFSET) {
+            throw new BadRequestException("Pages start at most " + MAX_OFFSET + " beers in; page further with keyset=true and the returned cursor");
+        }
+
+        Mono<BeerPagedList> beerList = keyset || cursor != null
+                ? beerService.listBeersAfter(beerName, beerStyle, cursor, pageSize)
+                : beerService.listBeers(beerName, beerStyle, PageRequest.of(pageNumber, pageSize, DEFAULT_SORT));
+        return showInventoryOnHand ? beerList.map(beerInventoryService::withQuantityOnHand) : beerList;
+    }
+
+    /**
+     * Streams matching beers with backpressure. Unlike the servlet stack's {@code /export} it takes the list
+     * filters rather than {@code format} and {@code updatedSince}, hence its own path.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    public Flux<BeerDto> streamBeers(@RequestParam(value = "beerName", required = false) String beerName,
+                                     @RequestParam(value = "beerStyle", required = false) BeerStyleEnum beerStyle) {
+        return beerService.streamBeers(beerName, beerStyle);
+    }
+
+    @GetMapping("/{beerId}")
+    public Mono<ResponseEntity<BeerDto>> getBeerById(@PathVariable UUID beerId,
+                                                     @RequestParam(value = "showInventoryOnHand", defaultValue = "false") boolean showInventoryOnHand) {
+        return beerService.getById(beerId).map(beerDto -> withInventory(beerDto, showInventoryOnHand));
+    }
+
+    @GetMapping("/upc/{upc}")
+    public Mono<ResponseEntity<BeerDto>> getBeerByUpc(@PathVariable String upc,
+                                                      @RequestParam(value = "showInventoryOnHand", defaultValue = "false") boolean showInventoryOnHand) {
+        return beerService.getByUpc(upc).map(beerDto -> withInventory(beerDto, showInventoryOnHand));
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<BeerDto> saveNewBeer(@Valid @RequestBody BeerDto beerDto) {
+        return beerService.saveNewBeer(beerDto);
+    }
+
+    @PutMapping("/{beerId}")
+    public Mono<ResponseEntity<Void>> updateBeerById(@PathVariable UUID beerId,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     @Valid @RequestBody BeerDto beerDto) {
+        return beerService.updateBeer(beerId, beerDto, BeerETags.expectedVersion(ifMatch))
+                .map(BeerETags::noContent);
+    }
+
+    @PatchMapping(path = "/{beerId}", consumes = {APPLICATION_MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<Void>> patchBeerById(@PathVariable UUID beerId,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @RequestBody JsonNode patch) {
+        return beerService.patchBeer(beerId, BeerMergePatch.toBeerDto(patch, objectMapper), BeerETags.expectedVersion(ifMatch))
+                .map(BeerETags::noContent);
+    }
+
+    private ResponseEntity<BeerDto> withInventory(BeerDto beerDto, boolean showInventoryOnHand) {
+        // the version-based ETag does not cover quantity on hand, so that representation goes out untagged
+        return showInventoryOnHand ? ResponseEntity.ok(beerInventoryService.withQuantityOnHand(beerDto)) : BeerETags.ok(beerDto);
+    }
+}
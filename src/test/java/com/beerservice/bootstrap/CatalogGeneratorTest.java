@@ -0,0 +1,77 @@
+package com.beerservice.bootstrap;
+
+import com.beerservice.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogGeneratorTest {
+
+    CatalogGenerator generator = new CatalogGenerator(null, 10_000, 1, 100, 42, 1.0);
+
+    @Test
+    void rowsDependOnlyOnSeedAndIndex() {
+        CatalogGenerator.CatalogRow row = generator.row(1234);
+        CatalogGenerator.CatalogRow again = new CatalogGenerator(null, 10, 8, 7, 42, 1.0).row(1234);
+
+        assertEquals(row.getId(), again.getId());
+        assertEquals(row.getBeerName(), again.getBeerName());
+        assertEquals(row.getPrice(), again.getPrice());
+        assertEquals(7, row.getId().version());
+        assertEquals(row.getCreatedDate().getTime(), row.getId().getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void restartFillsInOnlyTheMissingRows() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:catalog-resume;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("create table beer (id binary(16) not null primary key, version bigint,"
+                + " created_date timestamp, last_modified_date timestamp, beer_name varchar(255),"
+                + " beer_style varchar(255), upc varchar(255) unique, price decimal(19, 2), min_on_hand int,"
+                + " quantity_to_brew int)");
+        CatalogGenerator resumed = new CatalogGenerator(jdbcTemplate, 50, 2, 10, 42, 1.0);
+        // what an interrupted parallel run leaves: a later batch done, another half written, earlier ones missing
+        for (long index : new long[]{20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 35, 36}) {
+            jdbcTemplate.update("insert into beer (id, upc) values (random_uuid(), ?)", CatalogGenerator.upc(index));
+        }
+
+        resumed.run();
+
+        assertEquals(50, jdbcTemplate.queryForObject("select count(*) from beer", Integer.class).intValue());
+        assertEquals(resumed.row(49).getBeerName(), jdbcTemplate.queryForObject(
+                "select beer_name from beer where upc = ?", String.class, CatalogGenerator.upc(49)));
+    }
+
+    @Test
+    void upcsAreUniqueEan13Codes() {
+        Set<String> upcs = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            upcs.add(generator.row(i).getUpc());
+        }
+
+        assertEquals(10_000, upcs.size());
+        assertEquals("7000000000003", CatalogGenerator.upc(0));
+        assertEquals("7000000012341", CatalogGenerator.upc(1234));
+    }
+
+    @Test
+    void stylesAreSkewedTowardsThePopularOnes() {
+        Map<BeerStyleEnum, Integer> counts = new EnumMap<>(BeerStyleEnum.class);
+        for (int i = 0; i < 10_000; i++) {
+            counts.merge(generator.row(i).getBeerStyle(), 1, Integer::sum);
+        }
+
+        BeerStyleEnum[] styles = CatalogGenerator.STYLES_BY_POPULARITY;
+        assertEquals(styles.length, counts.size());
+        assertTrue(counts.get(styles[0]) > 3 * counts.get(styles[styles.length - 1]));
+        assertTrue(counts.get(styles[0]) > counts.get(styles[1]));
+    }
+}
@@ -0,0 +1,176 @@
+package com.beerservice.config;
+
+import com.beerservice.web.model.BeerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.servlet.http.Cookie;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.beerservice.web.constant.WebConstants.APPLICATION_MERGE_PATCH_JSON_VALUE;
+import static com.beerservice.web.constant.WebConstants.BEER_ENDPOINT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"beer.outbox.publish-interval=3600000", "beer.inventory.flush-interval=3600000",
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "beer.datasource.replicas=" + ReplicaRoutingTest.REPLICA_1_URL + "," + ReplicaRoutingTest.REPLICA_2_URL})
+@AutoConfigureMockMvc
+@ActiveProfiles("replicas")
+class ReplicaRoutingTest {
+
+    // each replica is its own database, seeded with beers of its own, so a read routed to the wrong place shows
+    static final String PRIMARY_URL = "jdbc:h2:mem:replica-test-primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    static final String REPLICA_1_URL = "jdbc:h2:mem:replica-test-1;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+            + "INIT=RUNSCRIPT FROM 'classpath:db/replica-1.sql'";
+    static final String REPLICA_2_URL = "jdbc:h2:mem:replica-test-2;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+            + "INIT=RUNSCRIPT FROM 'classpath:db/replica-2.sql'";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void readsAreSpreadOverReplicas() throws Exception {
+        double replica1 = routed("replica-1");
+        double replica2 = routed("replica-2");
+
+        String ipas = mockMvc.perform(get(BEER_ENDPOINT).param("beerStyle", "IPA"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String lagers = mockMvc.perform(get(BEER_ENDPOINT).param("beerStyle", "LAGER"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(ipas.contains("Replica One IPA") && lagers.contains("Replica Two Lager")
+                || ipas.contains("Replica Two IPA") && lagers.contains("Replica One Lager"), ipas + lagers);
+        assertEquals(replica1 + 1, routed("replica-1"));
+        assertEquals(replica2 + 1, routed("replica-2"));
+        assertTrue(meterRegistry.get("hikaricp.connections.usage").tag("pool", "replica-2").timer().count() > 0);
+    }
+
+    @Test
+    void writersReadTheirWritesFromThePrimary() throws Exception {
+        Cookie lastWrite = mockMvc.perform(post(BEER_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"beerName\":\"Replica Lag Lager\",\"beerStyle\":\"LAGER\",\"upc\":\"0044332211\","
+                                + "\"price\":\"9.95\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getCookie("beer-last-write");
+        assertNotNull(lastWrite);
+        double replicas = routed("replica-1") + routed("replica-2");
+        double primary = routed("primary");
+
+        mockMvc.perform(get(BEER_ENDPOINT).param("beerName", "Replica Lag Lager").cookie(lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].upc").value("0044332211"));
+
+        assertEquals(replicas, routed("replica-1") + routed("replica-2"));
+        assertTrue(routed("primary") > primary);
+
+        // without the cookie the read goes to a replica, which has not seen the write
+        mockMvc.perform(get(BEER_ENDPOINT).param("beerName", "Replica Lag Lager"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+    }
+
+    @Test
+    void writersSeeTheirOwnVersionPastACopyCachedFromALaggingReplica() throws Exception {
+        MvcResult created = mockMvc.perform(post(BEER_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"beerName\":\"Lagging Lager\",\"beerStyle\":\"LAGER\",\"upc\":\"0066554410\","
+                                + "\"price\":\"9.95\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        BeerDto beer = objectMapper.readValue(created.getResponse().getContentAsString(), BeerDto.class);
+        Cookie lastWrite = created.getResponse().getCookie("beer-last-write");
+        mockMvc.perform(patch(BEER_ENDPOINT + "/" + beer.getId())
+                        .cookie(lastWrite)
+                        .contentType(APPLICATION_MERGE_PATCH_JSON_VALUE)
+                        .content("{\"price\":\"10.95\"}"))
+                .andExpect(status().isNoContent());
+
+        // another client read the beer from a replica that had not applied the patch, and cached it
+        Cache beerCache = cacheManager.getCache(CacheConfig.BEER_CACHE);
+        beerCache.evict(beer.getId());
+        beerCache.put(beer.getId(), beer);
+
+        mockMvc.perform(get(BEER_ENDPOINT + "/" + beer.getId()).cookie(lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(beer.getVersion() + 1))
+                .andExpect(jsonPath("$.price").value("10.95"));
+    }
+
+    @Test
+    void replicaReadsOfARecentlyChangedBeerAreNotCached() throws Exception {
+        MvcResult created = mockMvc.perform(post(BEER_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"beerName\":\"Settling Stout\",\"beerStyle\":\"STOUT\",\"upc\":\"0066554411\","
+                                + "\"price\":\"8.95\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        BeerDto beer = objectMapper.readValue(created.getResponse().getContentAsString(), BeerDto.class);
+        Cache beerCache = cacheManager.getCache(CacheConfig.BEER_CACHE);
+        beerCache.evict(beer.getId());
+        replicate(beer.getId());
+
+        mockMvc.perform(get(BEER_ENDPOINT + "/" + beer.getId())).andExpect(status().isOk());
+        assertNull(beerCache.get(beer.getId()));
+
+        mockMvc.perform(get(BEER_ENDPOINT + "/" + beer.getId())
+                        .cookie(created.getResponse().getCookie("beer-last-write")))
+                .andExpect(status().isOk());
+        assertNotNull(beerCache.get(beer.getId()));
+    }
+
+    /**
+     * Copies the beer's row from the primary to both replicas, as replication would.
+     */
+    private static void replicate(UUID beerId) {
+        byte[] id = ByteBuffer.allocate(16)
+                .putLong(beerId.getMostSignificantBits())
+                .putLong(beerId.getLeastSignificantBits())
+                .array();
+        Map<String, Object> row = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""))
+                .queryForMap("select * from beer where id = ?", (Object) id);
+        String insert = "insert into beer (" + String.join(", ", row.keySet()) + ") values ("
+                + String.join(", ", Collections.nCopies(row.size(), "?")) + ")";
+        for (String replicaUrl : new String[]{REPLICA_1_URL, REPLICA_2_URL}) {
+            new JdbcTemplate(new DriverManagerDataSource(replicaUrl, "sa", "")).update(insert, row.values().toArray());
+        }
+    }
+
+    private double routed(String target) {
+        return meterRegistry.get("beer.datasource.routed").tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,56 @@
+package com.beerservice.config;
+
+import com.beerservice.bootstrap.BeerLoader;
+import com.beerservice.repositories.BeerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.beerservice.web.constant.WebConstants.BEER_ENDPOINT;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("fast-startup")
+class StartupTimelineTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ConfigurableListableBeanFactory beanFactory;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Test
+    void fastStartupKeepsSchedulersEagerAndSeedsInOneBatch() {
+        assertTrue(beanFactory.getBeanDefinition("beerController").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("brewingScheduler").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("beerOutboxPublisher").isLazyInit());
+
+        assertTrue(beerRepository.findByUpc(BeerLoader.BEER_3_UPC).isPresent());
+    }
+
+    @Test
+    void reportsMilestonesAndBeanInitTimes() throws Exception {
+        mockMvc.perform(get(BEER_ENDPOINT)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/startup"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.readyMillis", notNullValue()))
+                .andExpect(jsonPath("$.firstRequestMillis", notNullValue()))
+                .andExpect(jsonPath("$.beans[*].name", hasItem("beerController")))
+                .andExpect(jsonPath("$.beans[*].name", hasItem("beerLoader")));
+    }
+}
@@ -0,0 +1,47 @@
+package com.beerservice.config;
+
+import com.beerservice.web.model.BeerDto;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VersionAwareCaffeineCacheTest {
+
+    VersionAwareCaffeineCache cache = new VersionAwareCaffeineCache("test", Caffeine.newBuilder().build(), false);
+
+    @Test
+    void olderVersionDoesNotReplaceNewer() {
+        UUID id = UUID.randomUUID();
+
+        cache.put(id, BeerDto.builder().id(id).version(2).build());
+        cache.put(id, BeerDto.builder().id(id).version(1).build());
+
+        assertEquals(2, cache.get(id, BeerDto.class).getVersion().intValue());
+    }
+
+    @Test
+    void newerVersionReplacesOlder() {
+        UUID id = UUID.randomUUID();
+
+        cache.put(id, BeerDto.builder().id(id).version(1).build());
+        cache.put(id, BeerDto.builder().id(id).version(2).build());
+
+        assertEquals(2, cache.get(id, BeerDto.class).getVersion().intValue());
+    }
+
+    @Test
+    void retiredKeyReadsAsAbsentAndTurnsAwayOlderVersions() {
+        UUID id = UUID.randomUUID();
+
+        cache.put("0631234567", VersionAwareCaffeineCache.retired(BeerDto.builder().id(id).version(3).build()));
+        cache.put("0631234567", BeerDto.builder().id(id).version(2).build());
+        assertNull(cache.get("0631234567"));
+
+        cache.put("0631234567", BeerDto.builder().id(UUID.randomUUID()).version(0).build());
+        assertEquals(0, cache.get("0631234567", BeerDto.class).getVersion().intValue());
+    }
+}
@@ -0,0 +1,33 @@
+package com.beerservice.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void idsAreVersion7AndIncreaseAsUnsignedBytes() {
+        long before = System.currentTimeMillis();
+        UUID previous = TimeOrderedUuidGenerator.next();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = TimeOrderedUuidGenerator.next();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+
+        assertEquals(7, previous.version());
+        assertEquals(2, previous.variant());
+        assertTrue(previous.getMostSignificantBits() >>> 16 >= before);
+    }
+
+    @Test
+    void ofPlacesTimeSequenceAndRandomBits() {
+        UUID id = TimeOrderedUuidGenerator.of(0x0123456789ABL, 0x5, -1L);
+
+        assertEquals("01234567-89ab-7005-bfff-ffffffffffff", id.toString());
+    }
+}
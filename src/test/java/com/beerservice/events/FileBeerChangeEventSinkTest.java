@@ -0,0 +1,44 @@
+package com.beerservice.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileBeerChangeEventSinkTest {
+
+    @Test
+    void appendsOneJsonLinePerEvent() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        Path file = Files.createTempFile("beer-changes", ".jsonl");
+        file.toFile().deleteOnExit();
+        FileBeerChangeEventSink sink = new FileBeerChangeEventSink(file, objectMapper);
+        UUID beerId = UUID.randomUUID();
+
+        sink.publish(Arrays.asList(event(1, beerId, BeerChangeType.CREATED), event(2, beerId, BeerChangeType.UPDATED)));
+        sink.publish(Collections.singletonList(event(3, beerId, BeerChangeType.UPDATED)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        BeerChangeEvent last = objectMapper.readValue(lines.get(2), BeerChangeEvent.class);
+        assertEquals(3L, last.getSequence());
+        assertEquals(beerId, last.getBeerId());
+        assertEquals(BeerChangeType.UPDATED, last.getChangeType());
+    }
+
+    private static BeerChangeEvent event(long sequence, UUID beerId, BeerChangeType changeType) {
+        return BeerChangeEvent.builder()
+                .sequence(sequence)
+                .beerId(beerId)
+                .changeType(changeType)
+                .beerVersion(sequence - 1)
+                .build();
+    }
+}
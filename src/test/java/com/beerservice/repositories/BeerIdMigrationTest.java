@@ -0,0 +1,52 @@
+package com.beerservice.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BeerIdMigrationTest {
+
+    @Test
+    void textIdsKeepTheirValueAsBinary() throws Exception {
+        SingleConnectionDataSource dataSource =
+                new SingleConnectionDataSource("jdbc:h2:mem:beer-id-migration", "sa", "", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table beer (id varchar(36) not null primary key, created_date timestamp,"
+                + " upc varchar(255))");
+        jdbcTemplate.execute("create index ix_beer_created_date_id on beer (created_date, id)");
+        jdbcTemplate.execute("create table beer_inventory (beer_id varchar(36) not null primary key,"
+                + " quantity_on_hand int)");
+        jdbcTemplate.execute("create table beer_outbox_event (id bigint primary key, beer_id varchar(36) not null)");
+        UUID hexId = UUID.randomUUID();
+        UUID dashedId = UUID.randomUUID();
+        jdbcTemplate.update("insert into beer values (?, current_timestamp, '1')", hex(hexId));
+        jdbcTemplate.update("insert into beer values (?, current_timestamp, '2')", dashedId.toString());
+        jdbcTemplate.update("insert into beer_inventory values (?, 5)", dashedId.toString());
+        jdbcTemplate.update("insert into beer_outbox_event values (1, ?)", hex(hexId));
+
+        ScriptUtils.executeSqlScript(dataSource.getConnection(),
+                new ClassPathResource("db/beer-id-binary-migration.sql"));
+
+        assertEquals(hexId, uuid(jdbcTemplate.queryForObject("select id from beer where upc = '1'", byte[].class)));
+        assertEquals(dashedId, uuid(jdbcTemplate.queryForObject("select id from beer where upc = '2'", byte[].class)));
+        assertEquals(dashedId, uuid(jdbcTemplate.queryForObject("select beer_id from beer_inventory", byte[].class)));
+        assertEquals(hexId, uuid(jdbcTemplate.queryForObject("select beer_id from beer_outbox_event", byte[].class)));
+        dataSource.destroy();
+    }
+
+    private static String hex(UUID id) {
+        return id.toString().replace("-", "");
+    }
+
+    private static UUID uuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
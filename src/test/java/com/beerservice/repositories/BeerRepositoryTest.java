@@ -0,0 +1,59 @@
+package com.beerservice.repositories;
+
+import com.beerservice.domain.Beer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class BeerRepositoryTest {
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<Beer> beers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            beers.add(Beer.builder()
+                    .beerName("Beer " + i)
+                    .beerStyle(i % 2 == 0 ? "IPA" : "ALE")
+                    .upc("0631234" + i)
+                    .price(new BigDecimal("9.95"))
+                    .build());
+        }
+        beerRepository.saveAll(beers);
+    }
+
+    @Test
+    void findPageAfterWalksWholeTableOnce() {
+        Set<UUID> seen = new HashSet<>();
+        List<Beer> page = beerRepository.findPageAfter(null, null, null, null, 3);
+        while (!page.isEmpty()) {
+            page.forEach(beer -> assertTrue(seen.add(beer.getId())));
+            Beer last = page.get(page.size() - 1);
+            page = beerRepository.findPageAfter(null, null, last.getCreatedDate(), last.getId(), 3);
+        }
+
+        assertEquals(7, seen.size());
+    }
+
+    @Test
+    void findPageAfterAppliesFilters() {
+        List<Beer> ipas = beerRepository.findPageAfter(null, "IPA", null, null, 10);
+
+        assertEquals(4, ipas.size());
+        ipas.forEach(beer -> assertEquals("IPA", beer.getBeerStyle()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.beerservice.repositories;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatabaseConcurrencyGuardTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    DataSource dataSource = guarded(new DatabaseConcurrencyGuard(1, 100, meterRegistry));
+
+    @Test
+    void connectionHoldsThePermitUntilClosed() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertEquals(1, permitsInUse());
+
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> CompletableFuture.runAsync(this::takeConnection).get());
+            assertTrue(e.getCause().getCause() instanceof SQLTransientConnectionException);
+        }
+        assertEquals(0, permitsInUse());
+
+        CompletableFuture.runAsync(this::takeConnection).get();
+    }
+
+    @Test
+    void threadHoldingAConnectionTakesAnotherWithoutWaiting() throws Exception {
+        try (Connection outer = dataSource.getConnection(); Connection inner = dataSource.getConnection()) {
+            assertEquals(1, permitsInUse());
+        }
+        assertEquals(0, permitsInUse());
+    }
+
+    private void takeConnection() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.isValid(1);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double permitsInUse() {
+        return meterRegistry.get("beer.db.permits.in.use").gauge().value();
+    }
+
+    private static DataSource guarded(DatabaseConcurrencyGuard guard) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:guard");
+        AspectJProxyFactory factory = new AspectJProxyFactory(h2);
+        factory.addAspect(guard);
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,158 @@
+package com.beerservice.services;
+
+import com.beerservice.repositories.BeerStyleSummary;
+import com.beerservice.web.model.BeerStyleEnum;
+import com.beerservice.web.model.BeerStyleStatsDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BeerCatalogStatsTest {
+
+    private final BeerCatalogStats stats = new BeerCatalogStats();
+
+    @Test
+    void repricingTheCheapestBeerMovesTheMinimum() {
+        UUID cheapest = UUID.randomUUID();
+        stats.apply(cheapest, 0L, BeerStyleEnum.IPA, new BigDecimal("5.00"));
+        stats.apply(UUID.randomUUID(), 0L, BeerStyleEnum.IPA, new BigDecimal("7.00"));
+        stats.apply(UUID.randomUUID(), 0L, BeerStyleEnum.IPA, new BigDecimal("12.00"));
+
+        stats.apply(cheapest, 1L, null, new BigDecimal("9.00"));
+
+        BeerStyleStatsDto ipa = style(BeerStyleEnum.IPA);
+        assertEquals(3, ipa.getBeerCount());
+        assertEquals(new BigDecimal("7.00"), ipa.getMinPrice());
+        assertEquals(new BigDecimal("9.33"), ipa.getAvgPrice());
+        assertEquals(new BigDecimal("12.00"), ipa.getMaxPrice());
+    }
+
+    @Test
+    void changingStyleMovesTheBeerAndItsRestockFlag() {
+        UUID beerId = UUID.randomUUID();
+        stats.apply(beerId, 0L, BeerStyleEnum.ALE, new BigDecimal("8.00"));
+        stats.setRestockNeeded(beerId, true);
+
+        stats.apply(beerId, 1L, BeerStyleEnum.STOUT, null);
+
+        assertEquals(0, style(BeerStyleEnum.ALE).getBeerCount());
+        assertNull(style(BeerStyleEnum.ALE).getMaxPrice());
+        assertEquals(0, style(BeerStyleEnum.ALE).getRestockNeeded());
+        assertEquals(1, style(BeerStyleEnum.STOUT).getBeerCount());
+        assertEquals(new BigDecimal("8.00"), style(BeerStyleEnum.STOUT).getMinPrice());
+        assertEquals(1, style(BeerStyleEnum.STOUT).getRestockNeeded());
+        assertEquals(1, stats.snapshot().getRestockNeeded());
+    }
+
+    @Test
+    void ignoresStaleChanges() {
+        UUID beerId = UUID.randomUUID();
+        stats.apply(beerId, 2L, BeerStyleEnum.LAGER, new BigDecimal("6.00"));
+
+        assertFalse(stats.apply(beerId, 1L, BeerStyleEnum.LAGER, new BigDecimal("99.00")));
+        assertFalse(stats.apply(beerId, 2L, BeerStyleEnum.LAGER, new BigDecimal("99.00")));
+        assertEquals(new BigDecimal("6.00"), style(BeerStyleEnum.LAGER).getMaxPrice());
+    }
+
+    @Test
+    void restockFlagSetBeforeTheBeerIsLoadedIsCountedOnceItIs() {
+        UUID beerId = UUID.randomUUID();
+        stats.setRestockNeeded(beerId, true);
+        assertEquals(0, stats.snapshot().getRestockNeeded());
+
+        stats.load(beerId, 0L, BeerStyleEnum.GOSE, new BigDecimal("4.00"));
+
+        assertEquals(1, style(BeerStyleEnum.GOSE).getRestockNeeded());
+    }
+
+    @Test
+    void reloadCorrectsDriftButKeepsNewerChanges() {
+        UUID edited = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        UUID updated = UUID.randomUUID();
+        stats.load(edited, 0L, BeerStyleEnum.PORTER, new BigDecimal("10.00"));
+        stats.load(deleted, 0L, BeerStyleEnum.PORTER, new BigDecimal("3.00"));
+        stats.load(updated, 0L, BeerStyleEnum.PORTER, new BigDecimal("5.00"));
+        long before = stats.catalogChanges();
+        stats.apply(updated, 1L, null, new BigDecimal("6.00"));
+
+        // the reload read the edited row written around the service and an older copy of the updated one
+        stats.load(edited, 0L, BeerStyleEnum.PORTER, new BigDecimal("11.00"));
+        stats.load(updated, 0L, BeerStyleEnum.PORTER, new BigDecimal("5.00"));
+        stats.retainAll(new HashSet<>(Arrays.asList(edited, updated)), before);
+
+        BeerStyleStatsDto porter = style(BeerStyleEnum.PORTER);
+        assertEquals(2, porter.getBeerCount());
+        assertEquals(new BigDecimal("6.00"), porter.getMinPrice());
+        assertEquals(new BigDecimal("11.00"), porter.getMaxPrice());
+    }
+
+    @Test
+    void reportsStylesThatDisagreeWithTheDatabase() {
+        stats.apply(UUID.randomUUID(), 0L, BeerStyleEnum.WHEAT, new BigDecimal("5.00"));
+        stats.apply(UUID.randomUUID(), 0L, BeerStyleEnum.WHEAT, new BigDecimal("7.00"));
+        Map<BeerStyleEnum, BeerStyleSummary> persisted = new EnumMap<>(BeerStyleEnum.class);
+        persisted.put(BeerStyleEnum.WHEAT, summary(2, "5.00", "7.00", "12.00"));
+
+        assertTrue(stats.differences(persisted).isEmpty());
+
+        persisted.put(BeerStyleEnum.WHEAT, summary(2, "5.00", "8.00", "13.00"));
+        persisted.put(BeerStyleEnum.SAISON, summary(1, "9.00", "9.00", "9.00"));
+        assertEquals(Arrays.asList(BeerStyleEnum.WHEAT, BeerStyleEnum.SAISON),
+                stats.differences(persisted));
+        assertEquals(Collections.singletonList(BeerStyleEnum.WHEAT),
+                stats.differences(Collections.emptyMap()));
+    }
+
+    private BeerStyleStatsDto style(BeerStyleEnum beerStyle) {
+        return stats.snapshot().getStyles().stream()
+                .filter(style -> style.getBeerStyle() == beerStyle)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static BeerStyleSummary summary(long count, String min, String max, String total) {
+        return new BeerStyleSummary() {
+            @Override
+            public String getBeerStyle() {
+                return null;
+            }
+
+            @Override
+            public Long getBeerCount() {
+                return count;
+            }
+
+            @Override
+            public Long getPricedCount() {
+                return count;
+            }
+
+            @Override
+            public BigDecimal getMinPrice() {
+                return new BigDecimal(min);
+            }
+
+            @Override
+            public BigDecimal getMaxPrice() {
+                return new BigDecimal(max);
+            }
+
+            @Override
+            public BigDecimal getPriceTotal() {
+                return new BigDecimal(total);
+            }
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package com.beerservice.services;
+
+import com.beerservice.domain.BeerInventory;
+import com.beerservice.repositories.BeerInventoryRepository;
+import com.beerservice.repositories.BeerRepository;
+import com.beerservice.web.controller.exception.BadRequestException;
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerInventoryDto;
+import com.beerservice.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.beerservice.bootstrap.BeerLoader.BEER_3_UPC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BeerInventoryServiceImplTest {
+
+    @Autowired
+    BeerInventoryServiceImpl beerInventoryService;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    BeerInventoryRepository beerInventoryRepository;
+
+    @Test
+    void restockingMovesBeerOutOfBelowMinOnHand() {
+        UUID beerId = beerRepository.findByUpc(BEER_3_UPC).get().getId();
+        assertTrue(isBelowMinOnHand(beerId));
+
+        BeerInventoryDto inventory = beerInventoryService.adjustInventory(beerId, 20);
+
+        assertEquals(12, inventory.getMinOnHand().intValue());
+        assertFalse(isBelowMinOnHand(beerId));
+
+        beerInventoryService.adjustInventory(beerId, -15);
+        assertTrue(isBelowMinOnHand(beerId));
+        assertEquals(5, beerInventoryService.getInventory(beerId).getQuantityOnHand().intValue());
+    }
+
+    @Test
+    void adjustmentsArePersistedOnFlush() {
+        UUID beerId = newBeer("0077001122").getId();
+
+        beerInventoryService.adjustInventory(beerId, 8);
+        beerInventoryService.adjustInventory(beerId, -3);
+        beerInventoryService.flush();
+
+        assertEquals(5, beerInventoryRepository.findById(beerId).get().getQuantityOnHand().intValue());
+    }
+
+    @Test
+    void flushAddsToWhatOtherInstancesPersisted() {
+        UUID beerId = newBeer("0077001126").getId();
+        beerInventoryService.adjustInventory(beerId, 5);
+        beerInventoryService.flush();
+
+        // another instance sharing the database flushes its own restock
+        BeerInventory persisted = beerInventoryRepository.findById(beerId).get();
+        persisted.setQuantityOnHand(persisted.getQuantityOnHand() + 10);
+        beerInventoryRepository.save(persisted);
+
+        beerInventoryService.adjustInventory(beerId, -2);
+        beerInventoryService.flush();
+
+        assertEquals(13, beerInventoryRepository.findById(beerId).get().getQuantityOnHand().intValue());
+        assertEquals(13, beerInventoryService.getInventory(beerId).getQuantityOnHand().intValue());
+    }
+
+    @Test
+    void cannotTakeMoreThanOnHand() {
+        UUID beerId = newBeer("0077001123").getId();
+        beerInventoryService.adjustInventory(beerId, 2);
+
+        assertThrows(BadRequestException.class, () -> beerInventoryService.adjustInventory(beerId, -3));
+        assertEquals(2, beerInventoryService.getInventory(beerId).getQuantityOnHand().intValue());
+    }
+
+    @Test
+    void quantityOnHandIsAddedToACopyOfTheCachedBeer() {
+        UUID beerId = newBeer("0077001124").getId();
+        beerInventoryService.adjustInventory(beerId, 4);
+
+        BeerDto cached = beerService.getById(beerId);
+        BeerDto withInventory = beerInventoryService.withQuantityOnHand(cached);
+
+        assertEquals(4, withInventory.getQuantityOnHand().intValue());
+        assertNull(beerService.getById(beerId).getQuantityOnHand());
+    }
+
+    @Test
+    void beersCreatedOrGivenAMinimumAfterStartupAreTracked() {
+        UUID beerId = beerService.saveNewBeer(BeerDto.builder()
+                .beerName("Inventory Test")
+                .beerStyle(BeerStyleEnum.STOUT)
+                .upc("0077001125")
+                .price(new BigDecimal("6.50"))
+                .minOnHand(3)
+                .build()).getId();
+        assertTrue(isBelowMinOnHand(beerId));
+
+        beerService.patchBeer(beerId, BeerDto.builder().minOnHand(0).build(), null);
+        assertFalse(isBelowMinOnHand(beerId));
+
+        beerService.patchBeer(beerId, BeerDto.builder().minOnHand(5).build(), null);
+        assertTrue(isBelowMinOnHand(beerId));
+        assertEquals(5, beerInventoryService.getInventory(beerId).getMinOnHand().intValue());
+    }
+
+    private boolean isBelowMinOnHand(UUID beerId) {
+        return beerInventoryService.listBelowMinOnHand().stream()
+                .anyMatch(inventory -> inventory.getBeerId().equals(beerId));
+    }
+
+    private BeerDto newBeer(String upc) {
+        return beerService.saveNewBeer(BeerDto.builder()
+                .beerName("Inventory Test")
+                .beerStyle(BeerStyleEnum.STOUT)
+                .upc(upc)
+                .price(new BigDecimal("6.50"))
+                .build());
+    }
+}
@@ -0,0 +1,127 @@
+package com.beerservice.services;
+
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BeerNameIndexTest {
+
+    private final BeerNameIndex index = new BeerNameIndex();
+
+    @Test
+    void ranksExactAndPrefixMatchesBeforeSubstrings() {
+        put("Mango Bobs", BeerStyleEnum.IPA);
+        put("Mango", BeerStyleEnum.ALE);
+        put("Tropical Mangoes", BeerStyleEnum.WHEAT);
+        put("Galaxy Cat", BeerStyleEnum.PALE_ALE);
+
+        assertEquals(Arrays.asList("Mango", "Mango Bobs", "Tropical Mangoes"),
+                names(index.search("mango", null, 0, 10).getContent()));
+        assertEquals(Arrays.asList("Tropical Mangoes"), names(index.search("ngoe", null, 0, 10).getContent()));
+        assertEquals(Arrays.asList("Mango Bobs"), names(index.search("ma bo", null, 0, 10).getContent()));
+        assertEquals(Arrays.asList("Mango Bobs"), names(index.search("mango", BeerStyleEnum.IPA, 0, 10).getContent()));
+    }
+
+    @Test
+    void matchesStyleWords() {
+        put("Galaxy Cat", BeerStyleEnum.PALE_ALE);
+        put("Pilsner Urquell", BeerStyleEnum.PILSNER);
+
+        BeerNameIndex.SearchResult result = index.search("ale", null, 0, 10);
+
+        assertEquals(1, result.getTotal());
+        assertEquals("Galaxy Cat", result.getContent().get(0).getBeerName());
+    }
+
+    @Test
+    void pagesThroughRankedResults() {
+        for (int i = 0; i < 30; i++) {
+            put(String.format("Stout %02d", i), BeerStyleEnum.STOUT);
+        }
+
+        BeerNameIndex.SearchResult second = index.search("stout", null, 10, 10);
+
+        assertEquals(30, second.getTotal());
+        assertEquals(10, second.getContent().size());
+        assertEquals("Stout 10", second.getContent().get(0).getBeerName());
+    }
+
+    @Test
+    void pagesPastTheLastMatchAreEmpty() {
+        for (int i = 0; i < 3; i++) {
+            put(String.format("Porter %02d", i), BeerStyleEnum.PORTER);
+        }
+
+        BeerNameIndex.SearchResult beyond = index.search("porter", null, 2_000_000_000L * 1000, 1000);
+        BeerNameIndex.SearchResult last = index.search("porter", null, 2, Integer.MAX_VALUE);
+
+        assertEquals(3, beyond.getTotal());
+        assertTrue(beyond.getContent().isEmpty());
+        assertEquals(Arrays.asList("Porter 02"), names(last.getContent()));
+    }
+
+    @Test
+    void appliesNewerVersionsOnly() {
+        BeerDto beer = put("Old Name", BeerStyleEnum.LAGER);
+
+        assertTrue(index.put(BeerDto.builder().id(beer.getId()).version(1).beerName("New Name").build()));
+        assertFalse(index.put(BeerDto.builder().id(beer.getId()).version(1).beerName("Stale Name").build()));
+
+        assertEquals(0, index.search("old", null, 0, 10).getTotal());
+        assertEquals(0, index.search("stale", null, 0, 10).getTotal());
+        BeerDto renamed = index.search("new", null, 0, 10).getContent().get(0);
+        assertEquals("New Name", renamed.getBeerName());
+        assertEquals(BeerStyleEnum.LAGER, renamed.getBeerStyle());
+        assertEquals(new BigDecimal("5.00"), renamed.getPrice());
+    }
+
+    @Test
+    void updatesKeepEveryChangedColumn() {
+        BeerDto beer = put("Minimum Mild", BeerStyleEnum.ALE);
+
+        index.put(BeerDto.builder().id(beer.getId()).version(1).minOnHand(24).price(new BigDecimal("6.00")).build());
+
+        BeerDto updated = index.search("mild", null, 0, 10).getContent().get(0);
+        assertEquals(24, updated.getMinOnHand().intValue());
+        assertEquals(new BigDecimal("6.00"), updated.getPrice());
+        assertEquals("Minimum Mild", updated.getBeerName());
+    }
+
+    @Test
+    void searchesLeaveNoScoresBehindForTheNext() {
+        put("Amber Alpha", BeerStyleEnum.ALE);
+        put("Amber Beta", BeerStyleEnum.ALE);
+        put("Gamma Gold", BeerStyleEnum.LAGER);
+
+        assertEquals(2, index.search("amber", null, 0, 10).getTotal());
+        assertEquals(1, index.search("gold", null, 0, 10).getTotal());
+        assertEquals(1, index.search("amber beta", null, 0, 10).getTotal());
+    }
+
+    private BeerDto put(String name, BeerStyleEnum style) {
+        BeerDto beer = BeerDto.builder()
+                .id(UUID.randomUUID())
+                .version(0)
+                .beerName(name)
+                .beerStyle(style)
+                .upc(UUID.randomUUID().toString())
+                .price(new BigDecimal("5.00"))
+                .build();
+        index.put(beer);
+        return beer;
+    }
+
+    private static List<String> names(List<BeerDto> beers) {
+        return beers.stream().map(BeerDto::getBeerName).collect(Collectors.toList());
+    }
+}
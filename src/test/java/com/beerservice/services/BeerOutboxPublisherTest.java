@@ -0,0 +1,103 @@
+package com.beerservice.services;
+
+import com.beerservice.domain.BeerOutboxEvent;
+import com.beerservice.events.BeerChangeEvent;
+import com.beerservice.events.BeerChangeType;
+import com.beerservice.events.InMemoryBeerChangeEventSink;
+import com.beerservice.repositories.BeerOutboxRepository;
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerStyleEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// a database of its own, since the publishers of other cached contexts would otherwise drain the shared outbox
+@SpringBootTest(properties = {"spring.datasource.generate-unique-name=true", "beer.outbox.publish-interval=3600000"})
+class BeerOutboxPublisherTest {
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerOutboxPublisher beerOutboxPublisher;
+
+    @Autowired
+    InMemoryBeerChangeEventSink beerChangeEventSink;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void publishesChangesToABeerInOrder() {
+        BeerDto saved = beerService.saveNewBeer(BeerDto.builder()
+                .beerName("Outbox Ale")
+                .beerStyle(BeerStyleEnum.ALE)
+                .upc("0088112233")
+                .price(new BigDecimal("9.95"))
+                .build());
+        beerService.updateBeer(saved.getId(), BeerDto.builder()
+                .beerName("Outbox Ale II").beerStyle(BeerStyleEnum.ALE).upc("0088112233").price(new BigDecimal("9.95"))
+                .build(), saved.getVersion());
+        beerService.patchBeer(saved.getId(), BeerDto.builder().price(new BigDecimal("10.50")).build(), null);
+
+        beerOutboxPublisher.publishPending();
+
+        List<BeerChangeEvent> events = beerChangeEventSink.drain().stream()
+                .filter(event -> saved.getId().equals(event.getBeerId()))
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(BeerChangeType.CREATED, BeerChangeType.UPDATED, BeerChangeType.UPDATED),
+                events.stream().map(BeerChangeEvent::getChangeType).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(0L, 1L, 2L),
+                events.stream().map(BeerChangeEvent::getBeerVersion).collect(Collectors.toList()));
+        assertTrue(events.get(0).getSequence() < events.get(1).getSequence());
+        assertTrue(events.get(1).getSequence() < events.get(2).getSequence());
+        assertEquals("Outbox Ale", events.get(0).getBeer().getBeerName());
+        assertEquals(new BigDecimal("10.50"), events.get(2).getBeer().getPrice());
+    }
+
+    @Test
+    void keepsEventsWhenTheSinkFails() {
+        BeerOutboxRepository repository = mock(BeerOutboxRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        BeerOutboxEvent pending = BeerOutboxEvent.builder()
+                .id(1L)
+                .beerId(UUID.randomUUID())
+                .changeType(BeerChangeType.CREATED)
+                .beerVersion(0L)
+                .createdDate(new Timestamp(System.currentTimeMillis()))
+                .payload("{}")
+                .build();
+        when(repository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(Collections.singletonList(pending));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        BeerOutboxPublisher failing = new BeerOutboxPublisher(repository, events -> {
+            throw new IllegalStateException("broker down");
+        }, transactionTemplate, objectMapper, meterRegistry, 100);
+
+        assertEquals(0, failing.publishPending());
+        verify(repository, never()).deleteByIdIn(anyCollection());
+        verify(transactionTemplate, never()).execute(any());
+        assertEquals(1.0, meterRegistry.counter("beer.outbox.publish.failures").count());
+    }
+}
@@ -0,0 +1,52 @@
+package com.beerservice.services;
+
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerPagedList;
+import com.beerservice.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BeerSearchServiceImplTest {
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerSearchService beerSearchService;
+
+    @Test
+    void findsSeededBeers() {
+        BeerPagedList result = beerSearchService.search("mango", null, PageRequest.of(0, 10));
+
+        // other tests may have renamed it since
+        assertTrue(result.getContent().get(0).getBeerName().startsWith("Mango Bobs"));
+    }
+
+    @Test
+    void followsCommittedChanges() {
+        BeerDto saved = beerService.saveNewBeer(BeerDto.builder()
+                .beerName("Quokka Quencher")
+                .beerStyle(BeerStyleEnum.GOSE)
+                .upc("0055443322")
+                .price(new BigDecimal("7.25"))
+                .build());
+        assertEquals(saved.getId(), beerSearchService.search("quokka", null, PageRequest.of(0, 10))
+                .getContent().get(0).getId());
+
+        beerService.patchBeer(saved.getId(), BeerDto.builder().beerName("Wombat Wit").build(), saved.getVersion());
+
+        assertEquals(0, beerSearchService.search("quokka", null, PageRequest.of(0, 10)).getTotalElements());
+        BeerDto renamed = beerSearchService.search("wombat", BeerStyleEnum.GOSE, PageRequest.of(0, 10))
+                .getContent().get(0);
+        assertEquals(saved.getId(), renamed.getId());
+        assertEquals(new BigDecimal("7.25"), renamed.getPrice());
+    }
+}
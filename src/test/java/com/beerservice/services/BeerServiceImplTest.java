@@ -0,0 +1,313 @@
+package com.beerservice.services;
+
+import com.beerservice.config.CacheConfig;
+import com.beerservice.domain.Beer;
+import com.beerservice.repositories.BeerRepository;
+import com.beerservice.repositories.StatementCounter;
+import com.beerservice.web.model.BeerBulkResult;
+import com.beerservice.web.model.BeerBulkStatus;
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerPagedList;
+import com.beerservice.web.model.BeerExportFormat;
+import com.beerservice.web.model.BeerStyleEnum;
+import com.beerservice.web.controller.exception.NotFoundException;
+import com.beerservice.web.controller.exception.PreconditionFailedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolationException;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static com.beerservice.bootstrap.BeerLoader.BEER_1_UPC;
+import static com.beerservice.bootstrap.BeerLoader.BEER_2_UPC;
+import static com.beerservice.bootstrap.BeerLoader.BEER_3_UPC;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BeerServiceImplTest {
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void keysetPagesTellWhetherMoreFollowWithoutCounting() {
+        BeerPagedList first = beerService.listBeersAfter(null, null, null, 1);
+
+        assertEquals(1, first.getNumberOfElements());
+        assertEquals(1, first.getTotalElements());
+        assertTrue(first.hasNext());
+        assertNotNull(first.getNextCursor());
+    }
+
+    @Test
+    void getByIdIsServedFromCache() {
+        UUID id = beerRepository.findAll().iterator().next().getId();
+
+        BeerDto first = beerService.getById(id);
+        BeerDto second = beerService.getById(id);
+
+        assertEquals(first, second);
+        assertNotNull(cacheManager.getCache(CacheConfig.BEER_CACHE).get(id));
+    }
+
+    @Test
+    void callersGetTheirOwnCopyOfACachedBeer() {
+        UUID id = beerRepository.findAll().iterator().next().getId();
+        BeerDto first = beerService.getById(id);
+        String beerName = first.getBeerName();
+
+        first.setBeerName("Changed By Caller");
+        BeerDto second = beerService.getById(id);
+
+        assertNotSame(first, second);
+        assertEquals(beerName, second.getBeerName());
+    }
+
+    @Test
+    void updateRefreshesCachedVersion() {
+        BeerDto saved = beerService.saveNewBeer(BeerDto.builder()
+                .beerName("Cache Test")
+                .beerStyle(BeerStyleEnum.PORTER)
+                .upc("0099887766")
+                .price(new BigDecimal("7.50"))
+                .build());
+
+        BeerDto cached = beerService.getById(saved.getId());
+        BeerDto changes = cached.toBuilder().beerName("Cache Test Updated").build();
+        BeerDto updated = beerService.updateBeer(saved.getId(), changes, cached.getVersion());
+
+        BeerDto afterUpdate = beerService.getById(saved.getId());
+        assertEquals("Cache Test Updated", afterUpdate.getBeerName());
+        assertEquals(updated.getVersion(), afterUpdate.getVersion());
+        assertEquals(cached.getVersion() + 1, afterUpdate.getVersion().intValue());
+    }
+
+    @Test
+    void writeToUncachedBeerInstallsItsVersion() {
+        BeerDto saved = beerService.saveNewBeer(bulkBeer("Uncached Write", "0066554401"));
+        BeerDto beforeWrite = saved.toBuilder().build();
+        cacheManager.getCache(CacheConfig.BEER_CACHE).evict(saved.getId());
+
+        beerService.patchBeer(saved.getId(), BeerDto.builder().price(new BigDecimal("4.75")).build(), null);
+        // a read that loaded the row before the update and finishes after it
+        cacheManager.getCache(CacheConfig.BEER_CACHE).put(saved.getId(), beforeWrite);
+
+        BeerDto afterWrite = beerService.getById(saved.getId());
+        assertEquals(saved.getVersion() + 1, afterWrite.getVersion().intValue());
+        assertEquals(0, new BigDecimal("4.75").compareTo(afterWrite.getPrice()));
+        assertEquals("Uncached Write", afterWrite.getBeerName());
+    }
+
+    @Test
+    void cachedWriteSkipsTheRead() {
+        BeerDto saved = beerService.saveNewBeer(bulkBeer("Counted Write", "0066554403"));
+
+        int start = StatementCounter.current();
+        BeerDto cachedWrite = beerService.patchBeer(saved.getId(),
+                BeerDto.builder().price(new BigDecimal("5.25")).build(), saved.getVersion());
+        int afterCachedWrite = StatementCounter.current();
+        cacheManager.getCache(CacheConfig.BEER_CACHE).evict(saved.getId());
+        BeerDto uncachedWrite = beerService.patchBeer(saved.getId(),
+                BeerDto.builder().price(new BigDecimal("5.50")).build(), cachedWrite.getVersion());
+        int afterUncachedWrite = StatementCounter.current();
+
+        assertEquals(1, (afterUncachedWrite - afterCachedWrite) - (afterCachedWrite - start));
+        assertEquals(saved.getVersion() + 2, uncachedWrite.getVersion().intValue());
+        assertEquals("Counted Write", uncachedWrite.getBeerName());
+        assertNotNull(uncachedWrite.getCreatedDate());
+    }
+
+    @Test
+    void rolledBackWriteLeavesCacheAlone() {
+        BeerDto saved = beerService.saveNewBeer(bulkBeer("Rolled Back", "0066554402"));
+        beerService.getById(saved.getId());
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            beerService.patchBeer(saved.getId(), BeerDto.builder().beerName("Never Committed").build(), null);
+            status.setRollbackOnly();
+            return null;
+        });
+
+        BeerDto cached = cacheManager.getCache(CacheConfig.BEER_CACHE).get(saved.getId(), BeerDto.class);
+        assertEquals("Rolled Back", cached.getBeerName());
+        assertEquals(saved.getVersion(), cached.getVersion());
+    }
+
+    @Test
+    void updateWithStaleVersionFailsPrecondition() {
+        BeerDto saved = beerService.saveNewBeer(bulkBeer("Stale Update", "0033445566"));
+        beerService.updateBeer(saved.getId(), saved, saved.getVersion());
+
+        saved.setBeerName("Lost Update");
+        assertThrows(PreconditionFailedException.class,
+                () -> beerService.updateBeer(saved.getId(), saved, saved.getVersion()));
+        assertEquals("Stale Update", beerService.getById(saved.getId()).getBeerName());
+        assertThrows(NotFoundException.class,
+                () -> beerService.updateBeer(UUID.randomUUID(), saved, saved.getVersion()));
+    }
+
+    @Test
+    void patchOnlyChangesSuppliedFields() {
+        BeerDto saved = beerService.saveNewBeer(bulkBeer("Patch Test", "0022334455"));
+
+        BeerDto patched = beerService.patchBeer(saved.getId(),
+                BeerDto.builder().price(new BigDecimal("3.25")).build(), saved.getVersion());
+
+        assertEquals(saved.getVersion() + 1, patched.getVersion().intValue());
+        assertEquals("Patch Test", patched.getBeerName());
+        Beer stored = beerRepository.findById(saved.getId()).get();
+        assertEquals(0, new BigDecimal("3.25").compareTo(stored.getPrice()));
+        assertEquals("0022334455", stored.getUpc());
+        assertEquals("Patch Test", stored.getBeerName());
+    }
+
+    @Test
+    void patchRejectsInvalidField() {
+        BeerDto saved = beerService.saveNewBeer(bulkBeer("Patch Invalid", "0022334456"));
+
+        assertThrows(ConstraintViolationException.class, () -> beerService.patchBeer(saved.getId(),
+                BeerDto.builder().price(new BigDecimal("-1")).build(), null));
+    }
+
+    @Test
+    void repositoryCallsTakeDatabasePermit() {
+        long before = meterRegistry.get("beer.db.permit.wait").timer().count();
+
+        assertThrows(NotFoundException.class, () -> beerService.getByUpc("0000000001"));
+
+        assertTrue(meterRegistry.get("beer.db.permit.wait").timer().count() > before);
+    }
+
+    @Test
+    void transactionsTakeTheDatabasePermit() {
+        long before = meterRegistry.get("beer.db.permit.wait").timer().count();
+
+        beerService.listBeers(null, BeerStyleEnum.IPA, PageRequest.of(0, 10));
+
+        assertTrue(meterRegistry.get("beer.db.permit.wait").timer().count() > before);
+    }
+
+    @Test
+    void serviceAndRepositoryCallsAreTimedByOutcome() {
+        assertThrows(NotFoundException.class, () -> beerService.getById(UUID.randomUUID()));
+        beerService.listBeers(null, BeerStyleEnum.LAGER, PageRequest.of(0, 10));
+
+        assertEquals(1, meterRegistry.get("beer.service.calls")
+                .tags("method", "getById", "outcome", "NOT_FOUND").timer().count());
+        assertTrue(meterRegistry.get("beer.service.calls")
+                .tags("method", "listBeers", "outcome", "SUCCESS", "beerStyle", "LAGER").timer().count() > 0);
+        assertTrue(meterRegistry.get("beer.repository.calls")
+                .tags("method", "findAllByBeerStyle", "outcome", "SUCCESS").timer().count() > 0);
+    }
+
+    @Test
+    void getByUpcIsServedFromCache() {
+        BeerDto first = beerService.getByUpc(BEER_2_UPC);
+        BeerDto second = beerService.getByUpc(BEER_2_UPC);
+
+        assertEquals(first, second);
+        assertNotNull(cacheManager.getCache(CacheConfig.BEER_UPC_CACHE).get(BEER_2_UPC));
+        assertEquals(BEER_2_UPC, first.getUpc());
+    }
+
+    @Test
+    void getByUpcsSkipsUnknownAndKeepsOrder() {
+        List<BeerDto> beers = beerService.getByUpcs(Arrays.asList(BEER_3_UPC, "0000000000", BEER_2_UPC, BEER_3_UPC));
+
+        assertEquals(2, beers.size());
+        assertEquals(BEER_3_UPC, beers.get(0).getUpc());
+        assertEquals(BEER_2_UPC, beers.get(1).getUpc());
+        assertNotNull(cacheManager.getCache(CacheConfig.BEER_UPC_CACHE).get(BEER_3_UPC));
+    }
+
+    @Test
+    void changingUpcEvictsPreviousUpc() {
+        BeerDto saved = beerService.saveNewBeer(bulkBeer("Upc Change", "0044556677"));
+        assertNotNull(cacheManager.getCache(CacheConfig.BEER_UPC_CACHE).get("0044556677"));
+
+        BeerDto beforeWrite = saved.toBuilder().build();
+        saved.setUpc("0044556678");
+        beerService.updateBeer(saved.getId(), saved, null);
+        // a lookup by the old UPC that read the row before the update cannot put it back
+        cacheManager.getCache(CacheConfig.BEER_UPC_CACHE).put("0044556677", beforeWrite);
+
+        assertNull(cacheManager.getCache(CacheConfig.BEER_UPC_CACHE).get("0044556677"));
+        assertEquals(saved.getId(), beerService.getByUpc("0044556678").getId());
+    }
+
+    @Test
+    void saveOrUpdateBeersReportsPerItemResults() {
+        List<BeerBulkResult> results = beerService.saveOrUpdateBeers(Arrays.asList(
+                bulkBeer("Bulk New", "0011223344"),
+                bulkBeer("Mango Bobs Reloaded", BEER_1_UPC),
+                bulkBeer("Bulk Duplicate", "0011223344"),
+                bulkBeer("", "0055667788")));
+
+        assertEquals(BeerBulkStatus.CREATED, results.get(0).getStatus());
+        assertNotNull(results.get(0).getId());
+        assertEquals(BeerBulkStatus.UPDATED, results.get(1).getStatus());
+        assertEquals("Mango Bobs Reloaded", beerService.getById(results.get(1).getId()).getBeerName());
+        assertEquals(BeerBulkStatus.CONFLICT, results.get(2).getStatus());
+        assertEquals(BeerBulkStatus.INVALID, results.get(3).getStatus());
+    }
+
+    @Test
+    void exportBeersWritesOneNdjsonLinePerBeer() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        beerService.exportBeers(null, BeerExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(beerRepository.count(), lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":"));
+    }
+
+    @Test
+    void exportBeersAsCsvOnlyIncludesRecentChanges() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        beerService.exportBeers(OffsetDateTime.now().plusDays(1), BeerExportFormat.CSV, out);
+
+        assertEquals("id,version,createdDate,lastModifiedDate,beerName,beerStyle,upc,price\n",
+                out.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    private BeerDto bulkBeer(String name, String upc) {
+        return BeerDto.builder()
+                .beerName(name)
+                .beerStyle(BeerStyleEnum.IPA)
+                .upc(upc)
+                .price(new BigDecimal("9.99"))
+                .build();
+    }
+}
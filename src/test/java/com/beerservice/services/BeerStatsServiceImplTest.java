@@ -0,0 +1,59 @@
+package com.beerservice.services;
+
+import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerStyleEnum;
+import com.beerservice.web.model.BeerStyleStatsDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BeerStatsServiceImplTest {
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerStatsServiceImpl beerStatsService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void followsCommittedChangesAndReconcilesDrift() {
+        long saisons = saison().getBeerCount();
+        BeerDto saved = beerService.saveNewBeer(BeerDto.builder()
+                .beerName("Kestrel Saison")
+                .beerStyle(BeerStyleEnum.SAISON)
+                .upc("0033221100")
+                .price(new BigDecimal("99.50"))
+                .build());
+        assertEquals(saisons + 1, saison().getBeerCount());
+        assertEquals(new BigDecimal("99.50"), saison().getMaxPrice());
+
+        beerService.patchBeer(saved.getId(), BeerDto.builder().beerStyle(BeerStyleEnum.GOSE).build(),
+                saved.getVersion());
+        assertEquals(saisons, saison().getBeerCount());
+
+        // written around the service, so no change event follows
+        jdbcTemplate.update("update beer set beer_style = 'SAISON' where upc = '0033221100'");
+        assertEquals(saisons, saison().getBeerCount());
+
+        beerStatsService.reconcile();
+
+        assertEquals(saisons + 1, saison().getBeerCount());
+        assertEquals(new BigDecimal("99.50"), saison().getMaxPrice());
+    }
+
+    private BeerStyleStatsDto saison() {
+        return beerStatsService.getStats().getStyles().stream()
+                .filter(style -> style.getBeerStyle() == BeerStyleEnum.SAISON)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+}
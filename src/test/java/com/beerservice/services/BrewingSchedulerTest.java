@@ -0,0 +1,142 @@
+package com.beerservice.services;
+
+import com.beerservice.events.BrewBeerEvent;
+import com.beerservice.events.InMemoryBrewBeerEventSink;
+import com.beerservice.repositories.BeerBrewingSettings;
+import com.beerservice.repositories.BeerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static com.beerservice.bootstrap.BeerLoader.BEER_1_UPC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class BrewingSchedulerTest {
+
+    @Autowired
+    BrewingScheduler brewingScheduler;
+
+    @Autowired
+    InMemoryBrewBeerEventSink brewBeerEventSink;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Test
+    void requestsBrewingOncePerBeerBelowMinOnHand() {
+        UUID beerId = beerRepository.findByUpc(BEER_1_UPC).get().getId();
+        brewBeerEventSink.drain();
+
+        BrewingScheduler.BrewingScan first = brewingScheduler.scan();
+
+        assertTrue(first.isComplete());
+        assertTrue(first.getBeersChecked() >= 3);
+        BrewBeerEvent event = brewBeerEventSink.drain().stream()
+                .filter(brewBeerEvent -> beerId.equals(brewBeerEvent.getBeerId()))
+                .findFirst().get();
+        assertEquals(first.getScanId(), event.getScanId());
+        assertEquals(12, event.getMinOnHand());
+        assertEquals(200, event.getQuantityToBrew());
+
+        BrewingScheduler.BrewingScan second = brewingScheduler.scan();
+
+        List<BrewBeerEvent> repeated = brewBeerEventSink.drain();
+        assertTrue(second.getScanId() > first.getScanId());
+        assertTrue(repeated.stream().noneMatch(brewBeerEvent -> beerId.equals(brewBeerEvent.getBeerId())));
+    }
+
+    @Test
+    void scanOverBudgetIsCarriedOnByTheNextOne() {
+        UUID start = new UUID(0L, 0L);
+        UUID first = new UUID(0L, 1L);
+        UUID second = new UUID(0L, 2L);
+        UUID third = new UUID(0L, 3L);
+        BeerRepository repository = mock(BeerRepository.class);
+        when(repository.findBrewingSettingsAfter(eq(start), any())).thenAnswer(invocation -> {
+            // reading the first page uses up the whole budget
+            Thread.sleep(500);
+            return Arrays.asList(settings(first), settings(second));
+        });
+        when(repository.findBrewingSettingsAfter(eq(second), any())).thenReturn(Collections.singletonList(settings(third)));
+        BrewingScheduler scheduler = new BrewingScheduler(repository, mock(BeerInventoryService.class), events -> { },
+                new SimpleMeterRegistry(), 2, 1, 1, Duration.ofMillis(200), Duration.ofHours(1));
+        try {
+            BrewingScheduler.BrewingScan overBudget = scheduler.scan();
+            assertFalse(overBudget.isComplete());
+            assertEquals(2, overBudget.getBeersChecked());
+
+            BrewingScheduler.BrewingScan carriedOn = scheduler.scan();
+            assertEquals(1, carriedOn.getBeersChecked());
+
+            scheduler.scan();
+            verify(repository, times(2)).findBrewingSettingsAfter(eq(start), any());
+            verify(repository, times(1)).findBrewingSettingsAfter(eq(second), any());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void scanDropsPagesThatFindNoWorkerWithinItsBudget() {
+        BeerRepository repository = mock(BeerRepository.class);
+        when(repository.findBrewingSettingsAfter(any(), any()))
+                .thenAnswer(invocation -> Collections.singletonList(settings(UUID.randomUUID())));
+        CountDownLatch published = new CountDownLatch(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BrewingScheduler scheduler = new BrewingScheduler(repository, mock(BeerInventoryService.class), events -> {
+            try {
+                // the only worker is stuck publishing the first page
+                published.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, meterRegistry, 1, 1, 1, Duration.ofMillis(200), Duration.ofHours(1));
+        try {
+            long start = System.nanoTime();
+            BrewingScheduler.BrewingScan scan = scheduler.scan();
+
+            assertFalse(scan.isComplete());
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+            assertTrue(meterRegistry.get("beer.brewing.pages.dropped").counter().count() >= 1);
+        } finally {
+            published.countDown();
+            scheduler.shutdown();
+        }
+    }
+
+    private static BeerBrewingSettings settings(UUID id) {
+        return new BeerBrewingSettings() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getMinOnHand() {
+                return 10;
+            }
+
+            @Override
+            public Integer getQuantityToBrew() {
+                return 100;
+            }
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.beerservice.services;
+
+import com.beerservice.web.controller.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    SingleFlight<String, Object> singleFlight = new SingleFlight<>(meterRegistry, "getById");
+    ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    @Test
+    void concurrentCallsForTheSameKeyShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Object result = new Object();
+
+        Future<Object> leader = callers.submit(() -> singleFlight.execute("a", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return result;
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Future<Object> follower = callers.submit(() -> singleFlight.execute("a", () -> {
+            loads.incrementAndGet();
+            return new Object();
+        }));
+        while (collapsed() < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+        assertSame(result, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("beer.singleflight.calls").tag("outcome", "loaded").counter().count());
+
+        // finished loads are not reused
+        singleFlight.execute("a", Object::new);
+        assertEquals(2.0, meterRegistry.get("beer.singleflight.calls").tag("outcome", "loaded").counter().count());
+    }
+
+    @Test
+    void waitingCallersGetTheLoadersException() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = callers.submit(() -> singleFlight.execute("b", () -> {
+            loading.countDown();
+            await(release);
+            throw new NotFoundException();
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Future<Object> follower = callers.submit(() -> singleFlight.execute("b", Object::new));
+        while (collapsed() < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertTrue(leaderFailure.getCause() instanceof NotFoundException);
+        assertTrue(followerFailure.getCause() instanceof NotFoundException);
+    }
+
+    @Test
+    void forgottenKeysStartANewLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object stale = new Object();
+        Object fresh = new Object();
+
+        Future<Object> leader = callers.submit(() -> singleFlight.execute("c", () -> {
+            loading.countDown();
+            await(release);
+            return stale;
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        singleFlight.forget("c");
+
+        assertSame(fresh, singleFlight.execute("c", () -> fresh));
+        release.countDown();
+        assertSame(stale, leader.get(5, TimeUnit.SECONDS));
+    }
+
+    private double collapsed() {
+        return meterRegistry.get("beer.singleflight.calls").tag("outcome", "collapsed").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,10 +1,25 @@
 package com.beerservice.web.controllers;
 
+import com.beerservice.config.BinaryWireFormatConfig;
+import com.beerservice.services.BeerInventoryService;
+import com.beerservice.services.BeerSearchService;
 import com.beerservice.services.BeerService;
+import com.beerservice.services.BeerStatsService;
 import com.beerservice.web.controller.BeerController;
+import com.beerservice.web.controller.exception.NotFoundException;
+import com.beerservice.web.controller.exception.PreconditionFailedException;
+import com.beerservice.web.model.BeerBulkResult;
+import com.beerservice.web.model.BeerBulkStatus;
+import com.beerservice.web.model.BeerCatalogStatsDto;
 import com.beerservice.web.model.BeerDto;
+import com.beerservice.web.model.BeerExportFormat;
+import com.beerservice.web.model.BeerInventoryDto;
+import com.beerservice.web.model.BeerPagedList;
 import com.beerservice.web.model.BeerStyleEnum;
+import com.beerservice.web.model.BeerStyleStatsDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -12,7 +27,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.restdocs.RestDocumentationExtension;
 import org.springframework.restdocs.constraints.ConstraintDescriptions;
 import org.springframework.restdocs.payload.FieldDescriptor;
@@ -20,14 +38,30 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
 import java.util.UUID;
 
 import static com.beerservice.bootstrap.BeerLoader.BEER_1_UPC;
+import static com.beerservice.web.constant.WebConstants.APPLICATION_CBOR_VALUE;
+import static com.beerservice.web.constant.WebConstants.APPLICATION_MERGE_PATCH_JSON_VALUE;
+import static com.beerservice.web.constant.WebConstants.APPLICATION_NDJSON_VALUE;
+import static com.beerservice.web.constant.WebConstants.APPLICATION_SMILE_VALUE;
 import static com.beerservice.web.constant.WebConstants.BEER_ENDPOINT;
+import static com.beerservice.web.constant.WebConstants.TEXT_CSV_VALUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.patch;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.put;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
@@ -37,6 +71,10 @@ import static org.springframework.restdocs.request.RequestDocumentation.paramete
 import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
 import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
 import static org.springframework.restdocs.snippet.Attributes.key;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(RestDocumentationExtension.class)
@@ -53,6 +91,15 @@ public class BeerControllerTest {
     @MockBean
     BeerService beerService;
 
+    @MockBean
+    BeerInventoryService beerInventoryService;
+
+    @MockBean
+    BeerSearchService beerSearchService;
+
+    @MockBean
+    BeerStatsService beerStatsService;
+
     @Test
     void getBeerById() throws Exception {
         given(beerService.getById(any())).willReturn(getValidBeerDto());
@@ -79,10 +126,181 @@ public class BeerControllerTest {
                                 fieldWithPath("beerStyle").description("Beer Style"),
                                 fieldWithPath("upc").description("UPC of Beer"),
                                 fieldWithPath("price").description("Price"),
+                                fieldWithPath("minOnHand").description("Quantity below which the beer is restocked").optional(),
                                 fieldWithPath("quantityOnHand").description("Quantity On hand")
                         )));
     }
 
+    @Test
+    void listBeers() throws Exception {
+        given(beerService.listBeers(any(), any(), any())).willReturn(
+                new BeerPagedList(Collections.singletonList(getValidBeerDto()), PageRequest.of(0, 25), 1));
+
+        mockMvc.perform(get(BEER_ENDPOINT)
+                        .param("beerStyle", "ALE")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].beerName").value("Beer name"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void searchBeers() throws Exception {
+        given(beerSearchService.search(eq("mango"), eq(BeerStyleEnum.IPA), eq(PageRequest.of(1, 10)))).willReturn(
+                new BeerPagedList(Collections.singletonList(getValidBeerDto()), PageRequest.of(1, 10), 11));
+
+        mockMvc.perform(get(BEER_ENDPOINT + "/search")
+                        .param("q", "mango")
+                        .param("beerStyle", "IPA")
+                        .param("pageNumber", "1")
+                        .param("pageSize", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].beerName").value("Beer name"))
+                .andExpect(jsonPath("$.totalElements").value(11));
+    }
+
+    @Test
+    void getStats() throws Exception {
+        given(beerStatsService.getStats()).willReturn(BeerCatalogStatsDto.builder()
+                .beerCount(3)
+                .restockNeeded(1)
+                .styles(Collections.singletonList(BeerStyleStatsDto.builder()
+                        .beerStyle(BeerStyleEnum.IPA)
+                        .beerCount(3)
+                        .minPrice(new BigDecimal("9.99"))
+                        .avgPrice(new BigDecimal("11.32"))
+                        .maxPrice(new BigDecimal("12.99"))
+                        .restockNeeded(1)
+                        .build()))
+                .build());
+
+        mockMvc.perform(get(BEER_ENDPOINT + "/stats").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.beerCount").value(3))
+                .andExpect(jsonPath("$.styles[0].beerStyle").value("IPA"))
+                .andExpect(jsonPath("$.styles[0].avgPrice").value("11.32"))
+                .andExpect(jsonPath("$.styles[0].restockNeeded").value(1));
+    }
+
+    @Test
+    void searchBeersRejectsBlankQuery() throws Exception {
+        mockMvc.perform(get(BEER_ENDPOINT + "/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchBeersRejectsHugePageNumbers() throws Exception {
+        mockMvc.perform(get(BEER_ENDPOINT + "/search")
+                        .param("q", "mango")
+                        .param("pageNumber", "2000000")
+                        .param("pageSize", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listBeersRejectsDeepOffsetsButNotCursors() throws Exception {
+        mockMvc.perform(get(BEER_ENDPOINT)
+                        .param("pageNumber", "2000000")
+                        .param("pageSize", "1000"))
+                .andExpect(status().isBadRequest());
+
+        given(beerService.listBeersAfter(any(), any(), any(), anyInt())).willReturn(
+                new BeerPagedList(Collections.emptyList(), PageRequest.of(0, 1000), 0));
+        mockMvc.perform(get(BEER_ENDPOINT)
+                        .param("pageNumber", "2000000")
+                        .param("pageSize", "1000")
+                        .param("keyset", "true"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listBeersAsCbor() throws Exception {
+        BeerDto beerDto = getValidBeerDto();
+        beerDto.setCreatedDate(OffsetDateTime.of(2019, 6, 1, 10, 15, 30, 0, ZoneOffset.UTC));
+        given(beerService.listBeers(any(), any(), any())).willReturn(
+                new BeerPagedList(Collections.singletonList(beerDto), PageRequest.of(0, 25), 1));
+
+        byte[] body = mockMvc.perform(get(BEER_ENDPOINT)
+                        .accept(APPLICATION_CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_CBOR_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        BeerPagedList beers = BinaryWireFormatConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory())
+                .readValue(body, BeerPagedList.class);
+        assertEquals(beerDto.getUpc(), beers.getContent().get(0).getUpc());
+        assertEquals(0, beerDto.getPrice().compareTo(beers.getContent().get(0).getPrice()));
+        assertTrue(beerDto.getCreatedDate().isEqual(beers.getContent().get(0).getCreatedDate()));
+    }
+
+    @Test
+    void saveOrUpdateBeersFromSmile() throws Exception {
+        given(beerService.saveOrUpdateBeers(argThat(beers -> beers.size() == 1))).willReturn(Collections.emptyList());
+
+        mockMvc.perform(post(BEER_ENDPOINT + "/bulk")
+                        .contentType(APPLICATION_SMILE_VALUE)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(BinaryWireFormatConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory())
+                                .writeValueAsBytes(Collections.singletonList(getValidBeerDto()))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void listBeersByKeyset() throws Exception {
+        given(beerService.listBeersAfter(isNull(), eq(BeerStyleEnum.ALE), eq("abc"), anyInt())).willReturn(
+                new BeerPagedList(Collections.singletonList(getValidBeerDto()), PageRequest.of(0, 1), 1, "def"));
+
+        mockMvc.perform(get(BEER_ENDPOINT)
+                        .param("beerStyle", "ALE")
+                        .param("pageSize", "1")
+                        .param("cursor", "abc")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.last").value(false));
+    }
+
+    @Test
+    void listBeersRejectsOversizedPages() throws Exception {
+        mockMvc.perform(get(BEER_ENDPOINT)
+                        .param("keyset", "true")
+                        .param("pageSize", Integer.toString(Integer.MAX_VALUE))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getBeerByUpc() throws Exception {
+        given(beerService.getByUpc(BEER_1_UPC)).willReturn(getValidBeerDto());
+
+        mockMvc.perform(get(BEER_ENDPOINT + "/upc/{upc}", BEER_1_UPC)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.upc").value(BEER_1_UPC));
+    }
+
+    @Test
+    void getBeerByUnknownUpcIsNotFound() throws Exception {
+        given(beerService.getByUpc(any())).willThrow(new NotFoundException());
+
+        mockMvc.perform(get(BEER_ENDPOINT + "/upc/{upc}", "0000000000"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getBeersByUpc() throws Exception {
+        given(beerService.getByUpcs(anyList())).willReturn(Collections.singletonList(getValidBeerDto()));
+
+        mockMvc.perform(post(BEER_ENDPOINT + "/upc/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Collections.singletonList(BEER_1_UPC))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].upc").value(BEER_1_UPC));
+    }
+
     @Test
     void saveNewBeer() throws Exception {
         BeerDto beerDto = getValidBeerDto();
@@ -106,6 +324,7 @@ public class BeerControllerTest {
                                 fields.withPath("beerStyle").description("Style of Beer"),
                                 fields.withPath("upc").description("Beer UPC").attributes(),
                                 fields.withPath("price").description("Beer Price"),
+                                fields.withPath("minOnHand").description("Quantity below which the beer is restocked, 0 if omitted").optional(),
                                 fields.withPath("quantityOnHand").ignored()
                         )));
     }
@@ -115,12 +334,144 @@ public class BeerControllerTest {
         BeerDto beerDto = getValidBeerDto();
         String beerDtoAsString = objectMapper.writeValueAsString(beerDto);
 
-        given(beerService.getById(any())).willReturn(getValidBeerDto());
+        BeerDto updated = getValidBeerDto();
+        updated.setVersion(4);
+        given(beerService.updateBeer(any(), any(), eq(3))).willReturn(updated);
 
         mockMvc.perform(put(BEER_ENDPOINT + "/" + UUID.randomUUID())
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(beerDtoAsString))
-                .andExpect(status().isOk());
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updateBeerWithStaleVersionFailsPrecondition() throws Exception {
+        given(beerService.updateBeer(any(), any(), eq(2))).willThrow(new PreconditionFailedException());
+
+        mockMvc.perform(put(BEER_ENDPOINT + "/" + UUID.randomUUID())
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(getValidBeerDto())))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void patchBeerById() throws Exception {
+        BeerDto patched = getValidBeerDto();
+        patched.setVersion(5);
+        given(beerService.patchBeer(any(), argThat(patch -> patch.getBeerName() == null
+                && new BigDecimal("4.50").equals(patch.getPrice())), eq(4))).willReturn(patched);
+
+        mockMvc.perform(patch(BEER_ENDPOINT + "/" + UUID.randomUUID())
+                .header(HttpHeaders.IF_MATCH, "\"4\"")
+                .contentType(APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"price\":\"4.50\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""));
+    }
+
+    @Test
+    void patchCannotRemoveOrTouchReadOnlyFields() throws Exception {
+        mockMvc.perform(patch(BEER_ENDPOINT + "/" + UUID.randomUUID())
+                .contentType(APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"beerName\":null}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch(BEER_ENDPOINT + "/" + UUID.randomUUID())
+                .contentType(APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"version\":7}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getBeerByIdWithInventoryOnHand() throws Exception {
+        BeerDto beerDto = getValidBeerDto();
+        beerDto.setVersion(1);
+        given(beerService.getById(any())).willReturn(beerDto);
+        given(beerInventoryService.withQuantityOnHand(beerDto)).willReturn(beerDto.toBuilder().quantityOnHand(17).build());
+
+        mockMvc.perform(get(BEER_ENDPOINT + "/{beerId}", UUID.randomUUID())
+                        .param("showInventoryOnHand", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.quantityOnHand").value(17));
+    }
+
+    @Test
+    void adjustInventory() throws Exception {
+        UUID beerId = UUID.randomUUID();
+        given(beerInventoryService.adjustInventory(beerId, -2)).willReturn(
+                BeerInventoryDto.builder().beerId(beerId).quantityOnHand(10).minOnHand(12).build());
+
+        mockMvc.perform(post(BEER_ENDPOINT + "/{beerId}/inventory", beerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantityDelta\":-2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantityOnHand").value(10));
+    }
+
+    @Test
+    void listBeersBelowMinOnHand() throws Exception {
+        UUID beerId = UUID.randomUUID();
+        given(beerInventoryService.listBelowMinOnHand()).willReturn(Collections.singletonList(
+                BeerInventoryDto.builder().beerId(beerId).quantityOnHand(0).minOnHand(12).build()));
+
+        mockMvc.perform(get(BEER_ENDPOINT + "/inventory/below-min-on-hand"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].beerId").value(beerId.toString()))
+                .andExpect(jsonPath("$[0].minOnHand").value(12));
+    }
+
+    @Test
+    void getBeerByIdWithCurrentETagIsNotModified() throws Exception {
+        BeerDto beerDto = getValidBeerDto();
+        beerDto.setVersion(3);
+        given(beerService.getById(any())).willReturn(beerDto);
+
+        mockMvc.perform(get(BEER_ENDPOINT + "/{beerId}", UUID.randomUUID())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void saveOrUpdateBeers() throws Exception {
+        given(beerService.saveOrUpdateBeers(anyList())).willReturn(Collections.singletonList(
+                BeerBulkResult.builder().index(0).upc(BEER_1_UPC).status(BeerBulkStatus.CREATED).build()));
+
+        mockMvc.perform(post(BEER_ENDPOINT + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singletonList(getValidBeerDto()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"));
+    }
+
+    @Test
+    void saveOrUpdateBeersFromNdjson() throws Exception {
+        String line = objectMapper.writeValueAsString(getValidBeerDto());
+        given(beerService.saveOrUpdateBeers(argThat(beers -> beers.size() == 2))).willReturn(Collections.emptyList());
+
+        mockMvc.perform(post(BEER_ENDPOINT + "/bulk")
+                .contentType(APPLICATION_NDJSON_VALUE)
+                .content(line + "\n" + line + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void exportBeersAsCsvSince() throws Exception {
+        mockMvc.perform(get(BEER_ENDPOINT + "/export")
+                .param("format", "CSV")
+                .param("updatedSince", "2019-06-01T10:15:30Z"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(TEXT_CSV_VALUE));
+
+        then(beerService).should().exportBeers(
+                eq(OffsetDateTime.parse("2019-06-01T10:15:30Z")), eq(BeerExportFormat.CSV), any());
     }
 
     BeerDto getValidBeerDto() {
@@ -0,0 +1,67 @@
+package com.beerservice.web.controllers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static com.beerservice.web.constant.WebConstants.BEER_ENDPOINT;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BeerMetricsIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void rejectedRequestBodiesAreCountedAsErrors() throws Exception {
+        double validation = errors("validation");
+        double badRequest = errors("bad_request");
+        double unsupported = errors("unsupported_media_type");
+
+        mockMvc.perform(post(BEER_ENDPOINT).contentType(MediaType.APPLICATION_JSON).content("{\"beerName\":\"\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(BEER_ENDPOINT).contentType(MediaType.APPLICATION_JSON).content("{\"beerName\":"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(BEER_ENDPOINT).contentType(MediaType.TEXT_PLAIN).content("Pale Ale"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        assertEquals(validation + 1, errors("validation"));
+        assertEquals(badRequest + 1, errors("bad_request"));
+        assertEquals(unsupported + 1, errors("unsupported_media_type"));
+    }
+
+    @Test
+    void prometheusExposesRequestStatementsAndErrors() throws Exception {
+        mockMvc.perform(get(BEER_ENDPOINT).param("beerStyle", "IPA")).andExpect(status().isOk());
+        mockMvc.perform(get(BEER_ENDPOINT + "/{beerId}", UUID.randomUUID())).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{beerStyle=\"IPA\"")))
+                .andExpect(content().string(containsString("beer_http_server_statements_count{method=\"GET\",uri=\"" + BEER_ENDPOINT + "\",}")))
+                .andExpect(content().string(containsString("beer_api_errors_total{reason=\"not_found\",}")))
+                .andExpect(content().string(containsString("beer_service_calls_seconds_bucket")));
+    }
+
+    private double errors(String reason) {
+        Counter counter = meterRegistry.find("beer.api.errors").tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
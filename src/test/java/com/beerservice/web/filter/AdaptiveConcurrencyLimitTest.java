@@ -0,0 +1,61 @@
+package com.beerservice.web.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, WINDOW, 0);
+    private long now;
+
+    @Test
+    void growsWhileLatencyHoldsUnderLoad() {
+        windows(20, FAST, limit.getLimit());
+
+        assertTrue(limit.getLimit() > 30, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        windows(20, FAST, 20);
+        int before = limit.getLimit();
+
+        windows(10, 10 * FAST, before);
+
+        assertTrue(limit.getLimit() < before * 0.6, before + " -> " + limit.getLimit());
+    }
+
+    @Test
+    void staysPutWhenFewRequestsAreInFlight() {
+        windows(20, FAST, 2);
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void backsOffOnDropsButNotBelowTheMinimum() {
+        limit.dropped();
+        assertEquals(18, limit.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limit.dropped();
+        }
+        assertEquals(4, limit.getLimit());
+    }
+
+    private void windows(int count, long rtt, int inFlight) {
+        for (int window = 0; window < count; window++) {
+            for (int i = 0; i < 20; i++) {
+                now += WINDOW / 20;
+                limit.sample(rtt, inFlight, now);
+            }
+        }
+    }
+}
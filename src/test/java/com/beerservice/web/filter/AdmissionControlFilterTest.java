@@ -0,0 +1,69 @@
+package com.beerservice.web.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static com.beerservice.web.filter.AdmissionControlFilter.Priority.READ;
+import static com.beerservice.web.filter.AdmissionControlFilter.Priority.WRITE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlFilterTest {
+
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(10, 4, 200, 0.2, Duration.ofSeconds(2));
+
+    @Test
+    void readsAreShedBeforeWrites() {
+        for (int i = 0; i < 8; i++) {
+            assertTrue(filter.tryAcquire(READ));
+        }
+        assertFalse(filter.tryAcquire(READ));
+
+        assertTrue(filter.tryAcquire(WRITE));
+        assertTrue(filter.tryAcquire(WRITE));
+        assertFalse(filter.tryAcquire(WRITE));
+    }
+
+    @Test
+    void rejectsWithRetryAfterOnceFull() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            filter.tryAcquire(WRITE);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/beer"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void leavesOtherPathsAlone() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            filter.tryAcquire(WRITE);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void releasesPermitsWhenRequestsFinish() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/beer"), response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+}
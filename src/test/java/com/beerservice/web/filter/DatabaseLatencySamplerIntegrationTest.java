@@ -0,0 +1,47 @@
+package com.beerservice.web.filter;
+
+import com.beerservice.repositories.BeerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=250", "beer.outbox.publish-interval=3600000",
+        "beer.inventory.flush-interval=3600000"})
+class DatabaseLatencySamplerIntegrationTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    AdmissionControlFilter admissionControlFilter;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    void exhaustedPoolCutsTheLimit() throws Exception {
+        AdaptiveConcurrencyLimit limit = admissionControlFilter.getLimit();
+        try (Connection held = dataSource.getConnection()) {
+            int initial = limit.getLimit();
+            assertThrows(CannotCreateTransactionException.class,
+                    () -> transactionTemplate.execute(status -> beerRepository.count()));
+            int afterTransaction = limit.getLimit();
+            assertTrue(afterTransaction < initial);
+
+            assertThrows(CannotCreateTransactionException.class, () -> beerRepository.count());
+            assertTrue(limit.getLimit() < afterTransaction);
+        }
+    }
+}
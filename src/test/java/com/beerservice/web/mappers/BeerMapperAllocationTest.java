@@ -0,0 +1,60 @@
+package com.beerservice.web.mappers;
+
+import com.beerservice.domain.Beer;
+import com.beerservice.web.model.BeerDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringJUnitConfig({BeerMapperImpl.class, DateMapper.class})
+class BeerMapperAllocationTest {
+
+    /**
+     * BeerDto plus two OffsetDateTime values with their LocalDateTime, LocalDate and LocalTime parts, with headroom
+     * for header size differences between JVMs. The old DateMapper alone allocated ~600 bytes per timestamp.
+     */
+    private static final long BYTES_PER_BEER_BUDGET = 320;
+
+    private static final int ITERATIONS = 20_000;
+
+    @Autowired
+    BeerMapper beerMapper;
+
+    @Test
+    void beerToBeerDtoStaysWithinAllocationBudget() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Beer beer = Beer.builder()
+                .id(UUID.randomUUID())
+                .version(1L)
+                .createdDate(new Timestamp(System.currentTimeMillis()))
+                .lastModifiedDate(new Timestamp(System.currentTimeMillis()))
+                .beerName("Mango Bobs")
+                .beerStyle("IPA")
+                .upc("0631234200036")
+                .price(new BigDecimal("12.95"))
+                .build();
+
+        // warm up so the measured loop runs compiled code
+        BeerDto sink = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = beerMapper.beerToBeerDto(beer);
+        }
+
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = beerMapper.beerToBeerDto(beer);
+        }
+        long bytesPerBeer = (threadMXBean.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+
+        assertTrue(sink != null && bytesPerBeer <= BYTES_PER_BEER_BUDGET,
+                "beerToBeerDto allocated " + bytesPerBeer + " bytes per beer, budget is " + BYTES_PER_BEER_BUDGET);
+    }
+}
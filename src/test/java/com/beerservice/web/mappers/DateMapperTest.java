@@ -0,0 +1,38 @@
+package com.beerservice.web.mappers;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DateMapperTest {
+
+    DateMapper dateMapper = new DateMapper();
+
+    @Test
+    void asOffsetDateTimeKeepsWallClockFieldsAsUtc() {
+        String[] values = {"2019-06-01 10:15:30.123456789", "1965-12-31 23:59:59.999", "2020-03-29 02:30:00.0"};
+        for (String value : values) {
+            Timestamp ts = Timestamp.valueOf(value);
+
+            assertEquals(OffsetDateTime.of(ts.toLocalDateTime(), ZoneOffset.UTC), dateMapper.asOffsetDateTime(ts));
+        }
+    }
+
+    @Test
+    void roundTripsThroughTimestamp() {
+        Timestamp ts = Timestamp.valueOf("2019-06-01 10:15:30.123456789");
+
+        assertEquals(ts, dateMapper.asTimeStamp(dateMapper.asOffsetDateTime(ts)));
+    }
+
+    @Test
+    void mapsNullToNull() {
+        assertNull(dateMapper.asOffsetDateTime(null));
+        assertNull(dateMapper.asTimeStamp(null));
+    }
+}
@@ -0,0 +1,19 @@
+-- stand-in for replica-2: its own beers, none of the primary's, so a read served from here is recognisable
+CREATE TABLE IF NOT EXISTS beer (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    version BIGINT,
+    created_date TIMESTAMP,
+    last_modified_date TIMESTAMP,
+    beer_name VARCHAR(255),
+    beer_style VARCHAR(255),
+    upc VARCHAR(255) UNIQUE,
+    price DECIMAL(19, 2),
+    min_on_hand INTEGER,
+    quantity_to_brew INTEGER
+);
+MERGE INTO beer (id, version, created_date, last_modified_date, beer_name, beer_style, upc, price, min_on_hand, quantity_to_brew)
+    KEY (id) VALUES (X'00000000000000000000000000002001', 0, TIMESTAMP '2019-06-01 10:00:00', TIMESTAMP '2019-06-01 10:00:00',
+    'Replica Two IPA', 'IPA', '0990020001', 5.95, 0, 0);
+MERGE INTO beer (id, version, created_date, last_modified_date, beer_name, beer_style, upc, price, min_on_hand, quantity_to_brew)
+    KEY (id) VALUES (X'00000000000000000000000000002002', 0, TIMESTAMP '2019-06-01 10:00:00', TIMESTAMP '2019-06-01 10:00:00',
+    'Replica Two Lager', 'LAGER', '0990020002', 5.95, 0, 0);
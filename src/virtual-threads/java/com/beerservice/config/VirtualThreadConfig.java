@@ -0,0 +1,31 @@
+package com.beerservice.config;
+
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Only compiled by the virtual-threads Maven profile (JDK 21+). Tomcat hands every request to a new virtual
+ * thread, so blocked JPA calls no longer tie up a platform thread; DatabaseConcurrencyGuard keeps the
+ * database side bounded.
+ */
+@ConditionalOnProperty(value = "beer.virtual-threads.enabled", havingValue = "true", matchIfMissing = true)
+@Configuration
+public class VirtualThreadConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadExecutorCustomizer() {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            ProtocolHandler protocolHandler = connector.getProtocolHandler();
+            if (protocolHandler instanceof AbstractProtocol) {
+                ((AbstractProtocol<?>) protocolHandler).setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            }
+        });
+    }
+}